@@ -2,8 +2,11 @@ module org.MaViniciusDev {
     requires javafx.controls;
     requires javafx.graphics;
     requires javafx.fxml;
+    // Optional: batch inference uses it only when the module is added at runtime
+    requires static jdk.incubator.vector;
 
     opens org.MaViniciusDev.main to javafx.graphics;
     exports org.MaViniciusDev.view;
+    exports org.MaViniciusDev.simulation;
     exports org.MaViniciusDev.main;
 }
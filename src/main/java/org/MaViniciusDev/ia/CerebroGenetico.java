@@ -1,38 +1,96 @@
 package org.MaViniciusDev.ia;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class CerebroGenetico {
     // AUMENTAMOS PARA 20 REGRAS:
     // Regras 0-9: Controlam Direção
     // Regras 10-19: Controlam Aceleração
-    private static final int NUM_REGRAS = 20;
+    static final int NUM_REGRAS = 20;
+    // Regras [0, REGRAS_DIRECAO) decidem a direção, as demais a aceleração
+    static final int REGRAS_DIRECAO = 10;
 
     // Cada regra: 1 bit (Ativa/Inativa) + 125 bits (OU) + 125 bits (E) = 251 bits
     private static final int BITS_POR_REGRA = 251;
     private static final int TAMANHO_GENOMA = NUM_REGRAS * BITS_POR_REGRA;
 
-    private boolean[] cromossomo;
-    private final Random random = new Random();
+    // Genoma empacotado: 64 genes por palavra (5020 bits -> 79 palavras)
+    private static final int NUM_PALAVRAS = (TAMANHO_GENOMA + 63) >>> 6;
+    // Bits válidos da última palavra; os excedentes ficam sempre em zero
+    private static final long MASCARA_ULTIMA_PALAVRA = -1L >>> (NUM_PALAVRAS * 64 - TAMANHO_GENOMA);
+
+    // Níveis de saída de cada regra (Muito Baixo .. Muito Alto)
+    public static final int NUM_NIVEIS_SAIDA = 5;
+
+    // Mapeamento de saída para direção: Esquerda (-45) a Direita (+45)
+    static final double[] CONSEQUENTES_DIRECAO = {-45, -22.5, 0, 22.5, 45};
+
+    // Mapeamento de saída para pedal:
+    // Nível 0 (Muito Baixo) -> Freio Total (-1.0)
+    // Nível 1 (Baixo)       -> Freio Leve (-0.5)
+    // Nível 2 (Médio)       -> Ponto Morto (0.0)
+    // Nível 3 (Alto)        -> Aceleração Média (0.5)
+    // Nível 4 (Muito Alto)  -> Aceleração Total (1.0)
+    static final double[] CONSEQUENTES_ACELERACAO = {-1.0, -0.5, 0.0, 0.5, 1.0};
+
+    private final long[] genes;
+
+    // Regras compiladas sob demanda; volta a null sempre que os genes mudam
+    private ProgramaFuzzy programa;
 
     public CerebroGenetico() {
-        this.cromossomo = new boolean[TAMANHO_GENOMA];
-        randomizar();
+        this(ThreadLocalRandom.current());
     }
 
-    public CerebroGenetico(boolean[] genes) {
-        this.cromossomo = genes;
+    /**
+     * Cria um cérebro aleatório usando o gerador informado (reprodutível com um gerador semeado).
+     */
+    public CerebroGenetico(RandomGenerator random) {
+        this.genes = new long[NUM_PALAVRAS];
+        randomizar(random);
+    }
+
+    /**
+     * Cria um cérebro a partir de um genoma já empacotado (o array passa a pertencer ao cérebro).
+     */
+    public CerebroGenetico(long[] genes) {
+        if (genes.length != NUM_PALAVRAS) {
+            throw new IllegalArgumentException("Genoma deve ter " + NUM_PALAVRAS + " palavras, recebeu " + genes.length);
+        }
+        this.genes = genes;
+        this.genes[NUM_PALAVRAS - 1] &= MASCARA_ULTIMA_PALAVRA;
+    }
+
+    /**
+     * Cérebro sem nenhuma regra ativa, usado como destino pré-alocado de {@link #copiarDe} e
+     * {@link #cruzar(CerebroGenetico, CerebroGenetico, CerebroGenetico, RandomGenerator)}.
+     */
+    public static CerebroGenetico vazio() {
+        return new CerebroGenetico(new long[NUM_PALAVRAS]);
+    }
+
+    /**
+     * Compatibilidade: aceita o cromossomo no formato antigo (um boolean por gene).
+     */
+    public CerebroGenetico(boolean[] cromossomo) {
+        this(empacotar(cromossomo));
     }
 
     public void randomizar() {
+        randomizar(ThreadLocalRandom.current());
+    }
+
+    public void randomizar(RandomGenerator random) {
         // Inicialização esparsa (2% de chance) para evitar bloqueio lógico
-        for (int i = 0; i < TAMANHO_GENOMA; i++) {
-            cromossomo[i] = random.nextDouble() < 0.02;
-        }
+        Arrays.fill(genes, 0L);
+        programa = null;
+        inverterGenesAleatorios(0.02, random);
         // Ativa aleatoriamente as regras
         for (int r = 0; r < NUM_REGRAS; r++) {
             int offset = r * BITS_POR_REGRA;
-            cromossomo[offset] = random.nextBoolean();
+            definirGene(offset, random.nextBoolean());
         }
     }
 
@@ -42,94 +100,249 @@ public class CerebroGenetico {
      * Usa as regras 0 a 9 para decidir a direção (-45 a +45 graus)
      */
     public double processarDirecao(double[] inputsFuzzy) {
-        // Mapeamento de saída para direção: Esquerda (-45) a Direita (+45)
-        double[] valoresSaida = {-45, -22.5, 0, 22.5, 45};
+        return processarDirecao(inputsFuzzy, 0, new double[NUM_NIVEIS_SAIDA], 0);
+    }
+
+    /**
+     * Versão sem alocação: lê as 25 entradas a partir de {@code offsetInputs} e usa
+     * {@code saidas[offsetSaidas .. offsetSaidas + 5)} como área de trabalho.
+     */
+    public double processarDirecao(double[] inputsFuzzy, int offsetInputs, double[] saidas, int offsetSaidas) {
+        return processarDirecao(inputsFuzzy, offsetInputs, ProgramaFuzzy.mascaraNaoNulas(inputsFuzzy, offsetInputs),
+                saidas, offsetSaidas);
+    }
+
+    /**
+     * Como {@link #processarDirecao(double[], int, double[], int)}, com a máscara de entradas não nulas
+     * (bit i = entrada i maior que zero) já calculada pelo fuzzificador.
+     */
+    public double processarDirecao(double[] inputsFuzzy, int offsetInputs, int mascaraNaoNulas, double[] saidas, int offsetSaidas) {
         // Processa apenas as primeiras 10 regras (offset 0 a 9)
-        return processarFuzzyGenerico(inputsFuzzy, valoresSaida, 0, 10);
+        return processarFuzzyGenerico(inputsFuzzy, offsetInputs, mascaraNaoNulas, saidas, offsetSaidas, CONSEQUENTES_DIRECAO, 0, 10);
     }
 
     /**
      * Usa as regras 10 a 19 para decidir a aceleração (-1.0 a +1.0)
      */
     public double processarAceleracao(double[] inputsFuzzy) {
-        // Mapeamento de saída para pedal:
-        // Nível 0 (Muito Baixo) -> Freio Total (-1.0)
-        // Nível 1 (Baixo)       -> Freio Leve (-0.5)
-        // Nível 2 (Médio)       -> Ponto Morto (0.0)
-        // Nível 3 (Alto)        -> Aceleração Média (0.5)
-        // Nível 4 (Muito Alto)  -> Aceleração Total (1.0)
-        double[] valoresSaida = {-1.0, -0.5, 0.0, 0.5, 1.0};
+        return processarAceleracao(inputsFuzzy, 0, new double[NUM_NIVEIS_SAIDA], 0);
+    }
+
+    /**
+     * Versão sem alocação de {@link #processarAceleracao(double[])}; mesmos buffers de {@link #processarDirecao(double[], int, double[], int)}.
+     */
+    public double processarAceleracao(double[] inputsFuzzy, int offsetInputs, double[] saidas, int offsetSaidas) {
+        return processarAceleracao(inputsFuzzy, offsetInputs, ProgramaFuzzy.mascaraNaoNulas(inputsFuzzy, offsetInputs),
+                saidas, offsetSaidas);
+    }
 
+    /**
+     * Como {@link #processarAceleracao(double[], int, double[], int)}, com a máscara de entradas não nulas já calculada.
+     */
+    public double processarAceleracao(double[] inputsFuzzy, int offsetInputs, int mascaraNaoNulas, double[] saidas, int offsetSaidas) {
         // Processa as regras 10 a 19
-        return processarFuzzyGenerico(inputsFuzzy, valoresSaida, 10, 20);
+        return processarFuzzyGenerico(inputsFuzzy, offsetInputs, mascaraNaoNulas, saidas, offsetSaidas, CONSEQUENTES_ACELERACAO, 10, 20);
     }
 
     /**
      * Método genérico que processa um intervalo específico de regras
      */
-    private double processarFuzzyGenerico(double[] inputs, double[] valoresConsequentes, int regraInicio, int regraFim) {
-        double[] saidas = new double[5]; // Acumuladores para os 5 níveis de saída
+    private double processarFuzzyGenerico(double[] inputs, int offsetInputs, int mascaraNaoNulas, double[] saidas, int offsetSaidas,
+                                          double[] valoresConsequentes, int regraInicio, int regraFim) {
+        // Acumuladores para os 5 níveis de saída
+        Arrays.fill(saidas, offsetSaidas, offsetSaidas + NUM_NIVEIS_SAIDA, 0.0);
+        programa().acumularSaidas(inputs, offsetInputs, mascaraNaoNulas, saidas, offsetSaidas, regraInicio, regraFim);
 
-        for (int r = regraInicio; r < regraFim; r++) {
-            int offset = r * BITS_POR_REGRA;
+        // Defuzzificação (Centro de Gravidade)
+        double numerador = 0;
+        double denominador = 0;
 
-            if (!cromossomo[offset]) continue; // Regra inativa
+        for (int i = 0; i < NUM_NIVEIS_SAIDA; i++) {
+            numerador += saidas[offsetSaidas + i] * valoresConsequentes[i];
+            denominador += saidas[offsetSaidas + i];
+        }
 
-            for (int saidaIdx = 0; saidaIdx < 5; saidaIdx++) {
-                double ativacaoOU = 0.0;
-                double ativacaoE = 1.0;
-                boolean usouBitOU = false;
-                boolean usouBitE = false;
+        if (denominador == 0) return 0.0; // Padrão se nenhuma regra ativar
 
-                for (int entradaIdx = 0; entradaIdx < 25; entradaIdx++) {
-                    int bitIndex = (entradaIdx * 5) + saidaIdx;
+        // Retorna o valor ponderado
+        // Não precisamos de clamp aqui se os valoresConsequentes já estiverem nos limites
+        return numerador / denominador;
+    }
+
+    // --- ACESSO AOS GENES ---
+
+    private boolean gene(int i) {
+        return (genes[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private void definirGene(int i, boolean valor) {
+        if (valor) genes[i >>> 6] |= 1L << i;
+        else genes[i >>> 6] &= ~(1L << i);
+        programa = null;
+    }
+
+    // --- PROGRAMA COMPILADO ---
+
+    ProgramaFuzzy programa() {
+        ProgramaFuzzy p = programa;
+        if (p == null) {
+            p = compilar();
+            programa = p;
+        }
+        return p;
+    }
+
+    /**
+     * Converte o cromossomo em listas de índices de entrada por (regra, saída, OU/E),
+     * descartando regras inativas e cláusulas sem nenhum bit ligado.
+     */
+    private ProgramaFuzzy compilar() {
+        int[] primeiraClausula = new int[NUM_REGRAS + 1];
+        int[] saidaClausula = new int[NUM_REGRAS * 5];
+        int[] limites = new int[NUM_REGRAS * 5 * 2 + 1];
+        int[] entradas = new int[NUM_REGRAS * 5 * 25 * 2];
+        int[] mascaraOU = new int[NUM_REGRAS * 5];
+        int[] mascaraE = new int[NUM_REGRAS * 5];
+        int numClausulas = 0;
+        int numEntradas = 0;
+
+        for (int r = 0; r < NUM_REGRAS; r++) {
+            primeiraClausula[r] = numClausulas;
+            int offset = r * BITS_POR_REGRA;
+            if (!gene(offset)) continue; // Regra inativa
 
-                    // OU
-                    if (cromossomo[offset + 1 + bitIndex]) {
-                        ativacaoOU = Math.max(ativacaoOU, inputs[entradaIdx]);
-                        usouBitOU = true;
+            for (int saidaIdx = 0; saidaIdx < 5; saidaIdx++) {
+                int inicio = numEntradas;
+                int ou = 0;
+                for (int entradaIdx = 0; entradaIdx < 25; entradaIdx++) {
+                    if (gene(offset + 1 + entradaIdx * 5 + saidaIdx)) {
+                        entradas[numEntradas++] = entradaIdx;
+                        ou |= 1 << entradaIdx;
                     }
-                    // E
-                    if (cromossomo[offset + 1 + 125 + bitIndex]) {
-                        ativacaoE = Math.min(ativacaoE, inputs[entradaIdx]);
-                        usouBitE = true;
+                }
+                int inicioE = numEntradas;
+                int e = 0;
+                for (int entradaIdx = 0; entradaIdx < 25; entradaIdx++) {
+                    if (gene(offset + 1 + 125 + entradaIdx * 5 + saidaIdx)) {
+                        entradas[numEntradas++] = entradaIdx;
+                        e |= 1 << entradaIdx;
                     }
                 }
+                if (numEntradas == inicio) continue; // Cláusula vazia não contribui
 
-                double resultadoRegra = 0.0;
-                if (usouBitOU && usouBitE) resultadoRegra = Math.min(ativacaoOU, ativacaoE);
-                else if (usouBitOU) resultadoRegra = ativacaoOU;
-                else if (usouBitE) resultadoRegra = ativacaoE;
-
-                saidas[saidaIdx] = Math.max(saidas[saidaIdx], resultadoRegra);
+                saidaClausula[numClausulas] = saidaIdx;
+                mascaraOU[numClausulas] = ou;
+                mascaraE[numClausulas] = e;
+                limites[2 * numClausulas] = inicio;
+                limites[2 * numClausulas + 1] = inicioE;
+                numClausulas++;
+                limites[2 * numClausulas] = numEntradas;
             }
         }
+        primeiraClausula[NUM_REGRAS] = numClausulas;
 
-        // Defuzzificação (Centro de Gravidade)
-        double numerador = 0;
-        double denominador = 0;
+        return new ProgramaFuzzy(primeiraClausula,
+                Arrays.copyOf(saidaClausula, numClausulas),
+                Arrays.copyOf(limites, 2 * numClausulas + 1),
+                Arrays.copyOf(entradas, numEntradas),
+                Arrays.copyOf(mascaraOU, numClausulas),
+                Arrays.copyOf(mascaraE, numClausulas));
+    }
 
-        for (int i = 0; i < 5; i++) {
-            numerador += saidas[i] * valoresConsequentes[i];
-            denominador += saidas[i];
+    /**
+     * Visão de compatibilidade no formato antigo (um boolean por gene).
+     * Retorna uma cópia: alterá-la não modifica o genoma.
+     */
+    public boolean[] getCromossomo() {
+        boolean[] cromossomo = new boolean[TAMANHO_GENOMA];
+        for (int i = 0; i < TAMANHO_GENOMA; i++) {
+            cromossomo[i] = gene(i);
         }
+        return cromossomo;
+    }
 
-        if (denominador == 0) return 0.0; // Padrão se nenhuma regra ativar
+    private static long[] empacotar(boolean[] cromossomo) {
+        if (cromossomo.length != TAMANHO_GENOMA) {
+            throw new IllegalArgumentException("Cromossomo deve ter " + TAMANHO_GENOMA + " genes, recebeu " + cromossomo.length);
+        }
+        long[] palavras = new long[NUM_PALAVRAS];
+        for (int i = 0; i < TAMANHO_GENOMA; i++) {
+            if (cromossomo[i]) palavras[i >>> 6] |= 1L << i;
+        }
+        return palavras;
+    }
 
-        // Retorna o valor ponderado
-        // Não precisamos de clamp aqui se os valoresConsequentes já estiverem nos limites
-        return numerador / denominador;
+    public CerebroGenetico copiar() {
+        return new CerebroGenetico(genes.clone());
     }
 
-    public boolean[] getCromossomo() {
-        return cromossomo;
+    /**
+     * Sobrescreve este genoma com o de {@code origem}, sem alocar. O programa compilado é imutável,
+     * então é compartilhado em vez de recompilado.
+     */
+    public void copiarDe(CerebroGenetico origem) {
+        System.arraycopy(origem.genes, 0, genes, 0, NUM_PALAVRAS);
+        programa = origem.programa;
+    }
+
+    // --- OPERADORES GENÉTICOS ---
+
+    /**
+     * Crossover uniforme palavra a palavra: cada bit de uma máscara aleatória de 64 bits
+     * escolhe de qual pai vem o gene correspondente.
+     */
+    public static CerebroGenetico cruzar(CerebroGenetico pai, CerebroGenetico mae, RandomGenerator random) {
+        return cruzar(pai, mae, vazio(), random);
+    }
+
+    /**
+     * Mesmo crossover, escrito no genoma já alocado de {@code filho} (que não pode ser um dos pais).
+     * Sorteia as mesmas máscaras, então o resultado é idêntico ao da versão que aloca.
+     */
+    public static CerebroGenetico cruzar(CerebroGenetico pai, CerebroGenetico mae, CerebroGenetico filho,
+                                         RandomGenerator random) {
+        if (filho == pai || filho == mae) {
+            throw new IllegalArgumentException("O filho não pode ser um dos pais");
+        }
+        for (int w = 0; w < NUM_PALAVRAS; w++) {
+            long mascara = random.nextLong();
+            filho.genes[w] = (pai.genes[w] & mascara) | (mae.genes[w] & ~mascara);
+        }
+        filho.programa = null;
+        return filho;
     }
 
     public void mutar(double taxa) {
-        for (int i = 0; i < TAMANHO_GENOMA; i++) {
-            if (random.nextDouble() < taxa) {
-                cromossomo[i] = !cromossomo[i];
-            }
+        mutar(taxa, ThreadLocalRandom.current());
+    }
+
+    public void mutar(double taxa, RandomGenerator random) {
+        inverterGenesAleatorios(taxa, random);
+        programa = null;
+    }
+
+    /**
+     * Inverte cada gene com probabilidade {@code taxa} via XOR. Em vez de sortear um número por gene,
+     * sorteia a distância (geométrica) até o próximo gene invertido.
+     */
+    private void inverterGenesAleatorios(double taxa, RandomGenerator random) {
+        if (taxa <= 0) return;
+        if (taxa >= 1) {
+            for (int w = 0; w < NUM_PALAVRAS; w++) genes[w] = ~genes[w];
+            genes[NUM_PALAVRAS - 1] &= MASCARA_ULTIMA_PALAVRA;
+            return;
         }
+
+        double logComplemento = Math.log1p(-taxa);
+        long i = saltoGeometrico(logComplemento, random);
+        while (i < TAMANHO_GENOMA) {
+            genes[(int) (i >>> 6)] ^= 1L << i;
+            i += 1 + saltoGeometrico(logComplemento, random);
+        }
+    }
+
+    private static long saltoGeometrico(double logComplemento, RandomGenerator random) {
+        // 1 - nextDouble() está em (0, 1], então o log nunca é -infinito
+        return (long) (Math.log(1.0 - random.nextDouble()) / logComplemento);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package org.MaViniciusDev.ia;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Parte de {@link LoteFuzzy} que usa a Vector API. Fica numa classe separada para só ser
+ * carregada quando o módulo {@code jdk.incubator.vector} existe.
+ */
+final class KernelVetorial {
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+
+    private KernelVetorial() {
+    }
+
+    static int lanes() {
+        return ESPECIE.length();
+    }
+
+    static void avaliarBloco(LoteFuzzy lote, int bloco, double[] entradas, int passo, int[] mascarasNaoNulas,
+                             double[] trabalho, int offsetTrabalho, double[] direcao, double[] aceleracao) {
+        int base = bloco * ESPECIE.length();
+        LoteFuzzy.Bloco programa = lote.blocos[bloco];
+        int meio = programa.inicioAceleracao;
+
+        avaliarGrupo(programa, 0, meio, mascarasNaoNulas, entradas, passo, base, trabalho, offsetTrabalho,
+                CerebroGenetico.CONSEQUENTES_DIRECAO, direcao);
+        avaliarGrupo(programa, meio, programa.numClausulas, mascarasNaoNulas, entradas, passo, base, trabalho, offsetTrabalho,
+                CerebroGenetico.CONSEQUENTES_ACELERACAO, aceleracao);
+    }
+
+    /**
+     * Mesmas operações, na mesma ordem, que o caminho escalar: acumulação por máximo das cláusulas
+     * [inicio, fim) e defuzzificação por centro de gravidade.
+     */
+    private static void avaliarGrupo(LoteFuzzy.Bloco programa, int inicio, int fim, int[] mascarasNaoNulas, double[] entradas, int passo, int base,
+                                     double[] trabalho, int offsetTrabalho, double[] consequentes, double[] resultado) {
+        int lanes = ESPECIE.length();
+        DoubleVector zero = DoubleVector.zero(ESPECIE);
+        DoubleVector um = DoubleVector.broadcast(ESPECIE, 1.0);
+        for (int s = 0; s < CerebroGenetico.NUM_NIVEIS_SAIDA; s++) {
+            zero.intoArray(trabalho, offsetTrabalho + s * lanes);
+        }
+
+        for (int k = inicio; k < fim; k++) {
+            int inicioOU = programa.limites[2 * k];
+            int inicioE = programa.limites[2 * k + 1];
+            int fimE = programa.limites[2 * k + 2];
+
+            // Mesmo teste do caminho escalar, lane a lane: E com alguma entrada nula, ou OU não vazio
+            // sem nenhuma entrada ativa, vale 0. Se isso vale para todas as lanes, pula a cláusula.
+            boolean viva = false;
+            for (int lane = 0; lane < lanes && !viva; lane++) {
+                int ou = programa.mascaraOULane[k * lanes + lane];
+                int e = programa.mascaraELane[k * lanes + lane];
+                int naoNulas = mascarasNaoNulas[base + lane];
+                viva = (ou | e) != 0 && (e & ~naoNulas) == 0 && (ou == 0 || (ou & naoNulas) != 0);
+            }
+            if (!viva) continue;
+
+            // Lanes sem uma entrada mantêm o neutro do plano: 0 para o OU, 1 para o E
+            DoubleVector ativacaoOU = zero;
+            for (int i = inicioOU; i < inicioE; i++) {
+                DoubleVector valor = DoubleVector.fromArray(ESPECIE, entradas, programa.entrada[i] * passo + base);
+                ativacaoOU = ativacaoOU.lanewise(VectorOperators.MAX, valor, VectorMask.fromLong(ESPECIE, programa.lanesEntrada[i]));
+            }
+            DoubleVector ativacaoE = um;
+            for (int i = inicioE; i < fimE; i++) {
+                DoubleVector valor = DoubleVector.fromArray(ESPECIE, entradas, programa.entrada[i] * passo + base);
+                ativacaoE = ativacaoE.lanewise(VectorOperators.MIN, valor, VectorMask.fromLong(ESPECIE, programa.lanesEntrada[i]));
+            }
+
+            // Só OU -> OU; só E -> E; ambos -> min(OU, E); nenhum (lane sem a cláusula) -> 0
+            VectorMask<Double> temOU = VectorMask.fromLong(ESPECIE, programa.lanesOU[k]);
+            VectorMask<Double> temE = VectorMask.fromLong(ESPECIE, programa.lanesE[k]);
+            DoubleVector resultadoRegra = um.blend(ativacaoOU, temOU).min(ativacaoE)
+                    .blend(zero, temOU.or(temE).not());
+
+            int offsetSaida = offsetTrabalho + programa.saida[k] * lanes;
+            DoubleVector.fromArray(ESPECIE, trabalho, offsetSaida).max(resultadoRegra).intoArray(trabalho, offsetSaida);
+        }
+
+        DoubleVector numerador = zero;
+        DoubleVector denominador = zero;
+        for (int s = 0; s < CerebroGenetico.NUM_NIVEIS_SAIDA; s++) {
+            DoubleVector saida = DoubleVector.fromArray(ESPECIE, trabalho, offsetTrabalho + s * lanes);
+            numerador = numerador.add(saida.mul(consequentes[s]));
+            denominador = denominador.add(saida);
+        }
+        numerador.div(denominador)
+                .blend(zero, denominador.compare(VectorOperators.EQ, 0.0))
+                .intoArray(resultado, base);
+    }
+}
@@ -0,0 +1,207 @@
+package org.MaViniciusDev.ia;
+
+import java.util.Arrays;
+
+/**
+ * Inferência de vários cérebros de uma vez, com um carro por lane de vetor (Vector API).
+ * Os carros são agrupados em blocos de {@link #lanes()} ids consecutivos; para cada bloco, as regras
+ * compiladas dos seus cérebros são fundidas em cláusulas cujas entradas carregam a máscara das lanes
+ * que as usam. Cada cláusula vira então um max/min vetorial mascarado sobre colunas de entradas (SoA),
+ * e o resultado é idêntico, bit a bit, ao de {@link CerebroGenetico#processarDirecao(double[])}.
+ * Só fica disponível quando o módulo {@code jdk.incubator.vector} está carregado
+ * ({@code --add-modules jdk.incubator.vector}); caso contrário use a inferência carro a carro.
+ */
+public final class LoteFuzzy {
+    private static final int NUM_NIVEIS = CerebroGenetico.NUM_NIVEIS_SAIDA;
+    private static final int NUM_ENTRADAS = 25;
+    private static final int CLAUSULAS_POR_CEREBRO = CerebroGenetico.NUM_REGRAS * NUM_NIVEIS;
+
+    private static final boolean DISPONIVEL =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final int lanes;
+    private final int numBlocos;
+    // Programa fundido de cada bloco, recompilado sozinho quando um dos seus carros troca de cérebro
+    final Bloco[] blocos;
+
+    // Rascunho da compilação de um bloco, por cláusula (regra * NUM_NIVEIS + saída)
+    private final long[] temOU = new long[CLAUSULAS_POR_CEREBRO];
+    private final long[] temE = new long[CLAUSULAS_POR_CEREBRO];
+    private final long[] usoOU = new long[CLAUSULAS_POR_CEREBRO * NUM_ENTRADAS];
+    private final long[] usoE = new long[CLAUSULAS_POR_CEREBRO * NUM_ENTRADAS];
+    private final int[] ouLane;
+    private final int[] eLane;
+
+    /**
+     * Cláusulas fundidas de um bloco: as de direção são [0, inicioAceleracao), as de aceleração
+     * [inicioAceleracao, numClausulas).
+     */
+    static final class Bloco {
+        final int inicioAceleracao;
+        final int numClausulas;
+        // Por cláusula: nível de saída e lanes em que os planos OU / E são não vazios
+        final int[] saida;
+        final long[] lanesOU;
+        final long[] lanesE;
+        // Cláusula k: OU = entradas [limites[2k], limites[2k+1]), E = [limites[2k+1], limites[2k+2])
+        final int[] limites;
+        // Por cláusula e lane (k * lanes + lane): máscaras de 25 bits dos planos OU e E daquele carro
+        final int[] mascaraOULane;
+        final int[] mascaraELane;
+        // Por entrada de cláusula: índice da entrada fuzzy e lanes que a usam
+        final int[] entrada;
+        final long[] lanesEntrada;
+
+        private Bloco(int inicioAceleracao, int numClausulas, int[] saida, long[] lanesOU, long[] lanesE, int[] limites,
+                      int[] mascaraOULane, int[] mascaraELane, int[] entrada, long[] lanesEntrada) {
+            this.inicioAceleracao = inicioAceleracao;
+            this.numClausulas = numClausulas;
+            this.saida = saida;
+            this.lanesOU = lanesOU;
+            this.lanesE = lanesE;
+            this.limites = limites;
+            this.mascaraOULane = mascaraOULane;
+            this.mascaraELane = mascaraELane;
+            this.entrada = entrada;
+            this.lanesEntrada = lanesEntrada;
+        }
+    }
+
+    /**
+     * Se a Vector API está disponível nesta JVM.
+     */
+    public static boolean disponivel() {
+        return DISPONIVEL;
+    }
+
+    /**
+     * Carros por bloco (lanes de double da espécie preferida da CPU).
+     */
+    public static int lanes() {
+        if (!DISPONIVEL) throw new IllegalStateException("Vector API indisponível: use --add-modules jdk.incubator.vector");
+        return KernelVetorial.lanes();
+    }
+
+    /**
+     * Funde os programas de {@code cerebros} (o id do carro é o índice no array) em blocos de {@link #lanes()} carros.
+     */
+    public LoteFuzzy(CerebroGenetico[] cerebros) {
+        this.lanes = lanes();
+        this.numBlocos = Math.ceilDiv(cerebros.length, lanes);
+        this.ouLane = new int[CLAUSULAS_POR_CEREBRO * lanes];
+        this.eLane = new int[CLAUSULAS_POR_CEREBRO * lanes];
+        this.blocos = new Bloco[numBlocos];
+        for (int b = 0; b < numBlocos; b++) blocos[b] = compilar(cerebros, b);
+    }
+
+    /**
+     * Refaz só o bloco {@code bloco}, depois que algum dos seus carros trocou de cérebro (ou o cérebro
+     * mudou). {@code cerebros} é o mesmo array, por id, passado ao construtor.
+     */
+    public void recompilarBloco(int bloco, CerebroGenetico[] cerebros) {
+        blocos[bloco] = compilar(cerebros, bloco);
+    }
+
+    private Bloco compilar(CerebroGenetico[] cerebros, int b) {
+        Arrays.fill(temOU, 0L);
+        Arrays.fill(temE, 0L);
+        Arrays.fill(usoOU, 0L);
+        Arrays.fill(usoE, 0L);
+        Arrays.fill(ouLane, 0);
+        Arrays.fill(eLane, 0);
+
+        // Marca, por (regra, saída, entrada), as lanes do bloco que usam o gene
+        for (int lane = 0; lane < lanes; lane++) {
+            int id = b * lanes + lane;
+            if (id >= cerebros.length) break;
+            ProgramaFuzzy programa = cerebros[id].programa();
+            long bit = 1L << lane;
+            for (int r = 0; r < CerebroGenetico.NUM_REGRAS; r++) {
+                for (int k = programa.primeiraClausula(r); k < programa.primeiraClausula(r + 1); k++) {
+                    int c = r * NUM_NIVEIS + programa.saidaClausula(k);
+                    int ou = programa.mascaraOU(k);
+                    int e = programa.mascaraE(k);
+                    if (ou != 0) temOU[c] |= bit;
+                    if (e != 0) temE[c] |= bit;
+                    ouLane[c * lanes + lane] = ou;
+                    eLane[c * lanes + lane] = e;
+                    for (int i = 0; i < NUM_ENTRADAS; i++) {
+                        if ((ou & (1 << i)) != 0) usoOU[c * NUM_ENTRADAS + i] |= bit;
+                        if ((e & (1 << i)) != 0) usoE[c * NUM_ENTRADAS + i] |= bit;
+                    }
+                }
+            }
+        }
+
+        // Conta o que sobra para alocar os arrays do bloco no tamanho exato
+        int numClausulas = 0;
+        int numEntradas = 0;
+        for (int c = 0; c < CLAUSULAS_POR_CEREBRO; c++) {
+            if ((temOU[c] | temE[c]) == 0) continue;
+            numClausulas++;
+            for (int i = 0; i < NUM_ENTRADAS; i++) {
+                if (usoOU[c * NUM_ENTRADAS + i] != 0) numEntradas++;
+                if (usoE[c * NUM_ENTRADAS + i] != 0) numEntradas++;
+            }
+        }
+        int[] saida = new int[numClausulas];
+        long[] lanesOU = new long[numClausulas];
+        long[] lanesE = new long[numClausulas];
+        int[] mascaraOULane = new int[numClausulas * lanes];
+        int[] mascaraELane = new int[numClausulas * lanes];
+        int[] limites = new int[2 * numClausulas + 1];
+        int[] entrada = new int[numEntradas];
+        long[] lanesEntrada = new long[numEntradas];
+
+        // Compacta as cláusulas usadas por alguma lane, direção antes de aceleração
+        int inicioAceleracao = 0;
+        int k = 0;
+        int n = 0;
+        for (int c = 0; c < CLAUSULAS_POR_CEREBRO; c++) {
+            if (c == CerebroGenetico.REGRAS_DIRECAO * NUM_NIVEIS) inicioAceleracao = k;
+            if ((temOU[c] | temE[c]) == 0) continue;
+
+            saida[k] = c % NUM_NIVEIS;
+            lanesOU[k] = temOU[c];
+            lanesE[k] = temE[c];
+            System.arraycopy(ouLane, c * lanes, mascaraOULane, k * lanes, lanes);
+            System.arraycopy(eLane, c * lanes, mascaraELane, k * lanes, lanes);
+            limites[2 * k] = n;
+            for (int i = 0; i < NUM_ENTRADAS; i++) {
+                long uso = usoOU[c * NUM_ENTRADAS + i];
+                if (uso == 0) continue;
+                entrada[n] = i;
+                lanesEntrada[n++] = uso;
+            }
+            limites[2 * k + 1] = n;
+            for (int i = 0; i < NUM_ENTRADAS; i++) {
+                long uso = usoE[c * NUM_ENTRADAS + i];
+                if (uso == 0) continue;
+                entrada[n] = i;
+                lanesEntrada[n++] = uso;
+            }
+            k++;
+            limites[2 * k] = n;
+        }
+        return new Bloco(inicioAceleracao, numClausulas, saida, lanesOU, lanesE, limites,
+                mascaraOULane, mascaraELane, entrada, lanesEntrada);
+    }
+
+    public int getLanes() { return lanes; }
+
+    public int getNumBlocos() { return numBlocos; }
+
+    /**
+     * Calcula direção e aceleração dos carros [bloco * lanes, (bloco + 1) * lanes).
+     * A entrada fuzzy i do carro id fica em {@code entradas[i * passo + id]}; os resultados vão para
+     * {@code direcao[id]} e {@code aceleracao[id]}. {@code mascarasNaoNulas[id]} é a máscara de entradas
+     * não nulas do carro (a de {@code Fuzzifier.fuzzifySensors}), usada para pular cláusulas que valem 0.
+     * {@code trabalho[offsetTrabalho ..]} precisa de 5 * lanes posições. Todas as lanes são escritas,
+     * inclusive as de carros mortos.
+     */
+    public void processarBloco(int bloco, double[] entradas, int passo, int[] mascarasNaoNulas,
+                               double[] trabalho, int offsetTrabalho, double[] direcao, double[] aceleracao) {
+        KernelVetorial.avaliarBloco(this, bloco, entradas, passo, mascarasNaoNulas, trabalho, offsetTrabalho,
+                direcao, aceleracao);
+    }
+}
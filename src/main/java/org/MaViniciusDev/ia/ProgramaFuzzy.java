@@ -0,0 +1,88 @@
+package org.MaViniciusDev.ia;
+
+/**
+ * Forma compilada (imutável) das regras de um {@link CerebroGenetico}.
+ * Guarda apenas as cláusulas que referenciam alguma entrada: cada cláusula é um par
+ * (regra, saída) com a lista de entradas do plano OU seguida da lista do plano E.
+ */
+final class ProgramaFuzzy {
+    // Cláusulas da regra r: [primeiraClausula[r], primeiraClausula[r + 1])
+    private final int[] primeiraClausula;
+    // Nível de saída (0-4) de cada cláusula
+    private final int[] saidaClausula;
+    // Cláusula k: OU = entradas[limites[2k] .. limites[2k+1]), E = entradas[limites[2k+1] .. limites[2k+2])
+    private final int[] limites;
+    private final int[] entradas;
+    // Máscaras de 25 bits das entradas de cada cláusula nos planos OU e E
+    private final int[] mascaraOU;
+    private final int[] mascaraE;
+
+    ProgramaFuzzy(int[] primeiraClausula, int[] saidaClausula, int[] limites, int[] entradas,
+                  int[] mascaraOU, int[] mascaraE) {
+        this.primeiraClausula = primeiraClausula;
+        this.saidaClausula = saidaClausula;
+        this.limites = limites;
+        this.entradas = entradas;
+        this.mascaraOU = mascaraOU;
+        this.mascaraE = mascaraE;
+    }
+
+    /**
+     * Acumula (por máximo) em {@code saidas[offsetSaidas + nível]} a ativação das regras [regraInicio, regraFim),
+     * lendo as entradas em {@code inputs[offsetInputs + índice]}.
+     * {@code mascaraNaoNulas} tem o bit i ligado quando a entrada i é maior que zero: cláusulas cujo E
+     * toca uma entrada nula, ou cujo OU só tem entradas nulas, valem 0 e são puladas sem nenhum cálculo.
+     * Cláusulas que não podem superar o máximo atual da sua saída também param cedo; o resultado é o mesmo.
+     */
+    void acumularSaidas(double[] inputs, int offsetInputs, int mascaraNaoNulas, double[] saidas, int offsetSaidas,
+                        int regraInicio, int regraFim) {
+        int fim = primeiraClausula[regraFim];
+        for (int k = primeiraClausula[regraInicio]; k < fim; k++) {
+            // E com alguma entrada nula, ou OU (não vazio) sem nenhuma entrada ativa: ativação 0
+            if ((mascaraE[k] & ~mascaraNaoNulas) != 0) continue;
+            if (mascaraOU[k] != 0 && (mascaraOU[k] & mascaraNaoNulas) == 0) continue;
+
+            int s = offsetSaidas + saidaClausula[k];
+            double atual = saidas[s];
+            if (atual >= 1.0) continue; // Nenhuma ativação passa de 1
+
+            int inicioOU = limites[2 * k];
+            int inicioE = limites[2 * k + 1];
+            int fimE = limites[2 * k + 2];
+
+            double resultadoRegra = 1.0;
+            if (inicioOU < inicioE) {
+                double ativacaoOU = 0.0;
+                for (int i = inicioOU; i < inicioE; i++) {
+                    ativacaoOU = Math.max(ativacaoOU, inputs[offsetInputs + entradas[i]]);
+                }
+                if (ativacaoOU <= atual) continue;
+                resultadoRegra = ativacaoOU;
+            }
+            // O mínimo só diminui: para assim que não puder mais superar o valor atual
+            for (int i = inicioE; i < fimE && resultadoRegra > atual; i++) {
+                resultadoRegra = Math.min(resultadoRegra, inputs[offsetInputs + entradas[i]]);
+            }
+
+            if (resultadoRegra > atual) saidas[s] = resultadoRegra;
+        }
+    }
+
+    // --- ACESSO PARA A INFERÊNCIA EM LOTE ---
+
+    int primeiraClausula(int regra) { return primeiraClausula[regra]; }
+    int saidaClausula(int k) { return saidaClausula[k]; }
+    int mascaraOU(int k) { return mascaraOU[k]; }
+    int mascaraE(int k) { return mascaraE[k]; }
+
+    /**
+     * Máscara de 25 bits das entradas maiores que zero em {@code inputs[offset .. offset + 25)}.
+     */
+    static int mascaraNaoNulas(double[] inputs, int offset) {
+        int mascara = 0;
+        for (int i = 0; i < 25; i++) {
+            if (inputs[offset + i] > 0) mascara |= 1 << i;
+        }
+        return mascara;
+    }
+}
@@ -0,0 +1,50 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * How a car's move from one step to the next is tested against the walls.
+ * {@link #CENTER} only looks at where the centre lands, so a long step can jump over a thin wall;
+ * the swept modes follow the whole path and stop the car at its first contact.
+ */
+public enum CollisionMode {
+    /** The centre's cell at the new position (the original test); the car stays where it was. */
+    CENTER,
+    /** Every cell the centre crosses on its way from the old position to the new one. */
+    SWEPT,
+    /** As {@link #SWEPT}, for the centre and the four corners of the car's rotated rectangle. */
+    SWEPT_FOOTPRINT;
+
+    /**
+     * Fraction t in [0, 1] of the move (oldCenter -> newCenter) at which the car first touches a wall,
+     * or {@link TrackGrid#NO_CONTACT}. {@code length} runs along {@code angleDeg}, {@code width} across it.
+     */
+    public double firstContact(TrackGrid grid, double oldCenterX, double oldCenterY,
+                               double newCenterX, double newCenterY,
+                               double angleDeg, double length, double width) {
+        return switch (this) {
+            // Same truncation as the original test, so existing behaviour is unchanged
+            case CENTER -> grid.isWall((int) (newCenterX / grid.getCellWidth()), (int) (newCenterY / grid.getCellHeight()))
+                    ? 0.0 : TrackGrid.NO_CONTACT;
+            case SWEPT -> grid.firstContact(oldCenterX, oldCenterY, newCenterX, newCenterY);
+            case SWEPT_FOOTPRINT -> sweepFootprint(grid, oldCenterX, oldCenterY, newCenterX, newCenterY,
+                    angleDeg, length, width);
+        };
+    }
+
+    private static double sweepFootprint(TrackGrid grid, double oldCenterX, double oldCenterY,
+                                         double newCenterX, double newCenterY,
+                                         double angleDeg, double length, double width) {
+        double t = grid.firstContact(oldCenterX, oldCenterY, newCenterX, newCenterY);
+        double rad = Math.toRadians(angleDeg);
+        double cos = Math.cos(rad);
+        double sin = Math.sin(rad);
+        for (int corner = 0; corner < 4; corner++) {
+            double along = (corner & 1) == 0 ? length / 2.0 : -length / 2.0;
+            double across = (corner & 2) == 0 ? width / 2.0 : -width / 2.0;
+            double offX = along * cos - across * sin;
+            double offY = along * sin + across * cos;
+            // The rectangle keeps its heading during the step, so each corner moves by the same offset
+            t = Math.min(t, grid.firstContact(oldCenterX + offX, oldCenterY + offY, newCenterX + offX, newCenterY + offY));
+        }
+        return t;
+    }
+}
@@ -0,0 +1,31 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * When a {@link Population} ends a car early instead of waiting for its time to run out, so a few
+ * parked or spinning cars do not set the length of every generation. Both rules read the car's
+ * progress along the {@link ProgressField}:
+ * <ul>
+ *   <li>{@link Rule#STALLED}: its best progress grew by less than {@code minProgress} pixels over the
+ *       last {@code stallWindow} seconds (0 turns the rule off);</li>
+ *   <li>{@link Rule#WRONG_WAY}: it is more than {@code maxBacktrack} pixels behind its best progress,
+ *       i.e. it drove that far against the track direction (infinity turns the rule off).</li>
+ * </ul>
+ */
+public record CullingPolicy(double stallWindow, double minProgress, double maxBacktrack) {
+
+    public enum Rule { STALLED, WRONG_WAY }
+
+    public static final CullingPolicy NONE = new CullingPolicy(0, 0, Double.POSITIVE_INFINITY);
+    public static final CullingPolicy DEFAULT = new CullingPolicy(3.0, 30.0, 200.0);
+
+    public CullingPolicy {
+        if (!(stallWindow >= 0) || !(minProgress >= 0) || !(maxBacktrack > 0)) {
+            throw new IllegalArgumentException("Invalid culling policy: window " + stallWindow
+                    + ", min progress " + minProgress + ", max backtrack " + maxBacktrack);
+        }
+    }
+
+    public boolean cullsStalled() { return stallWindow > 0 && minProgress > 0; }
+
+    public boolean cullsWrongWay() { return maxBacktrack != Double.POSITIVE_INFINITY; }
+}
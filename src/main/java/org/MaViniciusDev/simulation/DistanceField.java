@@ -0,0 +1,116 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed clearance of a static track: for every cell, a distance (in pixels) that can be
+ * travelled in any direction from any point of the cell without touching a wall or the grid edge.
+ * Built once per map with an exact Euclidean distance transform (Felzenszwalb-Huttenlocher),
+ * rows and columns processed in parallel.
+ */
+public final class DistanceField {
+    // Finite stand-in for infinity, so the transform never computes INF - INF
+    private static final double FAR = 1e20;
+
+    private final int largura;
+    private final float[] clearance;
+
+    private DistanceField(int largura, float[] clearance) {
+        this.largura = largura;
+        this.clearance = clearance;
+    }
+
+    /**
+     * Clearance of cell (gridX, gridY) in pixels; the cell must be inside the grid.
+     */
+    public double clearance(int gridX, int gridY) {
+        return clearance[gridY * largura + gridX];
+    }
+
+    public static DistanceField compute(TrackGrid grid) {
+        int largura = grid.getWidth();
+        int altura = grid.getHeight();
+        double cellWidth = grid.getCellWidth();
+        double cellHeight = grid.getCellHeight();
+
+        // Including the grid's ring of border walls: leaving the map counts as hitting a wall
+        int w = largura + 2;
+        int h = altura + 2;
+        double[] dist = new double[w * h];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                dist[y * w + x] = grid.isWall(x - 1, y - 1) ? 0.0 : FAR;
+            }
+        }
+
+        // Squared distances between cell centres: first down each column, then along each row
+        IntStream.range(0, w).parallel().forEach(x -> {
+            double[] f = new double[h];
+            for (int y = 0; y < h; y++) f[y] = dist[y * w + x];
+            double[] d = transform1d(f, cellHeight);
+            for (int y = 0; y < h; y++) dist[y * w + x] = d[y];
+        });
+        IntStream.range(0, h).parallel().forEach(y -> {
+            double[] f = new double[w];
+            System.arraycopy(dist, y * w, f, 0, w);
+            double[] d = transform1d(f, cellWidth);
+            System.arraycopy(d, 0, dist, y * w, w);
+        });
+
+        // A point of the cell is within half a diagonal of its centre, and so is the nearest wall
+        // point of the nearest wall cell: subtracting a full diagonal keeps the clearance conservative
+        double diagonal = Math.hypot(cellWidth, cellHeight);
+        float[] clearance = new float[largura * altura];
+        for (int y = 0; y < altura; y++) {
+            for (int x = 0; x < largura; x++) {
+                double centreDistance = Math.sqrt(dist[(y + 1) * w + (x + 1)]);
+                clearance[y * largura + x] = (float) Math.max(0.0, centreDistance - diagonal);
+            }
+        }
+        return new DistanceField(largura, clearance);
+    }
+
+    /**
+     * 1D squared distance transform of {@code f} over samples {@code spacing} pixels apart
+     * (lower envelope of parabolas).
+     */
+    private static double[] transform1d(double[] f, double spacing) {
+        int n = f.length;
+        double[] d = new double[n];
+        int[] v = new int[n];
+        double[] z = new double[n + 1];
+        int k = 0;
+        v[0] = 0;
+        z[0] = Double.NEGATIVE_INFINITY;
+        z[1] = Double.POSITIVE_INFINITY;
+
+        for (int q = 1; q < n; q++) {
+            double s = intersection(f, v[k], q, spacing);
+            // z[0] is -infinity and s is always finite, so this never drops below k = 0
+            while (s <= z[k]) {
+                k--;
+                s = intersection(f, v[k], q, spacing);
+            }
+            k++;
+            v[k] = q;
+            z[k] = s;
+            z[k + 1] = Double.POSITIVE_INFINITY;
+        }
+
+        k = 0;
+        for (int q = 0; q < n; q++) {
+            double posQ = q * spacing;
+            while (z[k + 1] < posQ) k++;
+            double delta = posQ - v[k] * spacing;
+            d[q] = delta * delta + f[v[k]];
+        }
+        return d;
+    }
+
+    // Position where the parabolas rooted at samples p and q intersect
+    private static double intersection(double[] f, int p, int q, double spacing) {
+        double posP = p * spacing;
+        double posQ = q * spacing;
+        return ((f[q] + posQ * posQ) - (f[p] + posP * posP)) / (2 * (posQ - posP));
+    }
+}
@@ -0,0 +1,131 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * What the renderer needs from one moment of a {@link TrainingSession}: car poses, the stats and the
+ * sensor readings of the best car. Filled on the simulation thread and handed to the FX thread by
+ * {@link SimulationRunner}; a published snapshot is never written again until the reader lets it go.
+ */
+public final class FrameSnapshot {
+    private int size;
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] angle = new double[0];
+    private boolean[] alive = new boolean[0];
+    private int[] deaths = new int[0];
+    private double[] deathX = new double[0];
+    private double[] deathY = new double[0];
+    private final double[] bestSensorReadings = new double[SensorArray.NUM_SENSORS];
+    private final int[] culledCounts = new int[CullingPolicy.Rule.values().length];
+
+    private FrameStats stats = FrameStats.EMPTY;
+    private int generation;
+    private double mutationRate;
+    private double simulatedTime;
+    private boolean won;
+    private TrainingSession.EvolutionMode evolutionMode = TrainingSession.EvolutionMode.GENERATIONAL;
+    private double carWidth, carHeight;
+
+    private int islandCount;
+    private int islandSize;
+    private int[] islandGeneration = new int[0];
+    private int[] islandAlive = new int[0];
+    private double[] islandBestFitness = new double[0];
+
+    /**
+     * Copies the current state of the session; the arrays grow with the population and are otherwise reused.
+     */
+    void capture(TrainingSession session) {
+        Population population = session.getPopulation();
+        size = population.size();
+        if (x.length < size) {
+            x = new double[size];
+            y = new double[size];
+            angle = new double[size];
+            alive = new boolean[size];
+            deaths = new int[size];
+            deathX = new double[size];
+            deathY = new double[size];
+        }
+        population.copyPoses(x, y, angle, alive);
+        population.copyDeaths(deaths, deathX, deathY);
+        carWidth = population.getCarWidth();
+        carHeight = population.getCarHeight();
+        for (CullingPolicy.Rule rule : CullingPolicy.Rule.values()) {
+            culledCounts[rule.ordinal()] = session.getCulledCount(rule);
+        }
+
+        stats = session.getLastStats();
+        generation = session.getGeneration();
+        mutationRate = session.getMutationRate();
+        simulatedTime = session.getSimulatedTime();
+        won = session.hasWinner();
+        evolutionMode = session.getEvolutionMode();
+
+        islandCount = session.getIslandCount();
+        islandSize = session.getIslandSize();
+        if (islandGeneration.length < islandCount) {
+            islandGeneration = new int[islandCount];
+            islandAlive = new int[islandCount];
+            islandBestFitness = new double[islandCount];
+        }
+        for (int k = 0; k < islandCount; k++) {
+            islandGeneration[k] = session.getIslandGeneration(k);
+            int alive = 0;
+            double bestFitness = 0;
+            for (int i = k * islandSize; i < (k + 1) * islandSize; i++) {
+                if (!this.alive[i]) continue;
+                alive++;
+                bestFitness = Math.max(bestFitness, population.getFitness(i));
+            }
+            islandAlive[k] = alive;
+            islandBestFitness[k] = bestFitness;
+        }
+
+        int best = stats.bestCar();
+        if (best >= 0 && best < size) {
+            System.arraycopy(population.getSensorReadings(), best * SensorArray.NUM_SENSORS,
+                    bestSensorReadings, 0, SensorArray.NUM_SENSORS);
+        }
+    }
+
+    public int size() { return size; }
+    public double getX(int i) { return x[i]; }
+    public double getY(int i) { return y[i]; }
+    public double getCenterX(int i) { return x[i] + carWidth / 2; }
+    public double getCenterY(int i) { return y[i] + carHeight / 2; }
+    public double getAngle(int i) { return angle[i]; }
+    public boolean isAlive(int i) { return alive[i]; }
+
+    /**
+     * Times slot {@code i} has died in this population. It keeps counting across respawns, so
+     * comparing it between snapshots finds every crash, even one followed by a respawn in the same tick.
+     */
+    public int getDeathCount(int i) { return deaths[i]; }
+    public double getDeathCenterX(int i) { return deathX[i] + carWidth / 2; }
+    public double getDeathCenterY(int i) { return deathY[i] + carHeight / 2; }
+
+    /**
+     * {@link SensorArray#NUM_SENSORS} readings of {@code getStats().bestCar()}.
+     */
+    public double[] getBestSensorReadings() { return bestSensorReadings; }
+
+    /** Cars of the current generation ended early by {@code rule}. */
+    public int getCulledCount(CullingPolicy.Rule rule) { return culledCounts[rule.ordinal()]; }
+
+    public FrameStats getStats() { return stats; }
+    public int getGeneration() { return generation; }
+    public double getMutationRate() { return mutationRate; }
+    public double getSimulatedTime() { return simulatedTime; }
+    public boolean hasWinner() { return won; }
+    public TrainingSession.EvolutionMode getEvolutionMode() { return evolutionMode; }
+
+    // --- ISLANDS (a single island is the whole population) ---
+
+    public int getIslandCount() { return islandCount; }
+    /** Cars per island; island k is ids {@code [k * size, (k + 1) * size)}. */
+    public int getIslandSize() { return islandSize; }
+    public int getIslandGeneration(int k) { return islandGeneration[k]; }
+    public int getIslandAlive(int k) { return islandAlive[k]; }
+    /** Best fitness among the island's live cars. */
+    public double getIslandBestFitness(int k) { return islandBestFitness[k]; }
+}
@@ -0,0 +1,22 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * Per-step aggregates over the cars still alive after a {@link Population} step.
+ * Chunks computed in parallel are merged in car-id order, so the result matches a serial step.
+ */
+public record FrameStats(int alive, double bestFitness, int bestCar, int maxLaps) {
+
+    public static final FrameStats EMPTY = new FrameStats(0, 0, -1, 0);
+
+    /**
+     * Combines this chunk with the next one (higher car ids). Ties keep the lower id, as the serial loop does.
+     */
+    public FrameStats merge(FrameStats next) {
+        boolean nextIsBetter = next.bestFitness > bestFitness;
+        return new FrameStats(
+                alive + next.alive,
+                nextIsBetter ? next.bestFitness : bestFitness,
+                nextIsBetter ? next.bestCar : bestCar,
+                Math.max(maxLaps, next.maxLaps));
+    }
+}
@@ -0,0 +1,108 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * Table-driven fuzzifier for sensor readings (0-100). Each of the 5 distance levels is a trapezoid
+ * (a, b, c, d), a triangle being the case b == c; all memberships are sampled once on a fine grid,
+ * so fuzzifying a reading is one index computation and five table reads instead of a switch and
+ * branches per level. Every sample also records which levels are non-zero, for sparse inference.
+ */
+public final class Fuzzifier {
+    public static final int NUM_LEVELS = SensorArray.DistanceLevel.values().length;
+
+    // Cells per reading unit; each cell holds the memberships at its midpoint (error <= 0.001 with the default slopes)
+    private static final int CELLS_PER_UNIT = 50;
+    private static final int NUM_CELLS = 100 * CELLS_PER_UNIT;
+    // Sample 0 is a reading of 0, samples 1..NUM_CELLS the cells of (0, 100), the last one a reading of 100:
+    // the partitions may be discontinuous exactly at the ends (e.g. 100 is outside MUITO_LONGE)
+    private static final int NUM_SAMPLES = NUM_CELLS + 2;
+
+    /** Partitions of {@link SensorArray#getMembership}, in {@link SensorArray.DistanceLevel} order. */
+    public static final Fuzzifier DEFAULT = new Fuzzifier(new double[][]{
+            {0, 0, 10, 20},
+            {15, 27.5, 27.5, 40},
+            {35, 50, 50, 65},
+            {60, 72.5, 72.5, 85},
+            {80, 90, 100, 100}
+    });
+
+    private final double[][] breakpoints;
+    // NUM_LEVELS memberships per sample
+    private final double[] memberships;
+    // Bit l set when level l is non-zero at the sample
+    private final byte[] activeLevels;
+
+    /**
+     * @param breakpoints one (a, b, c, d) trapezoid per distance level, non-decreasing, inside 0-100
+     */
+    public Fuzzifier(double[][] breakpoints) {
+        if (breakpoints.length != NUM_LEVELS) {
+            throw new IllegalArgumentException("Expected " + NUM_LEVELS + " levels, got " + breakpoints.length);
+        }
+        this.breakpoints = new double[NUM_LEVELS][];
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            double[] p = breakpoints[level];
+            if (p.length != 4 || !(0 <= p[0] && p[0] <= p[1] && p[1] <= p[2] && p[2] <= p[3] && p[3] <= 100)) {
+                throw new IllegalArgumentException("Level " + level + " needs 4 non-decreasing breakpoints in 0-100");
+            }
+            this.breakpoints[level] = p.clone();
+        }
+
+        this.memberships = new double[NUM_SAMPLES * NUM_LEVELS];
+        this.activeLevels = new byte[NUM_SAMPLES];
+        for (int s = 0; s < NUM_SAMPLES; s++) {
+            double reading = s == 0 ? 0.0 : s == NUM_SAMPLES - 1 ? 100.0 : (s - 0.5) / CELLS_PER_UNIT;
+            for (int level = 0; level < NUM_LEVELS; level++) {
+                double value = exactMembership(reading, level);
+                memberships[s * NUM_LEVELS + level] = value;
+                if (value > 0) activeLevels[s] |= (byte) (1 << level);
+            }
+        }
+    }
+
+    /**
+     * Membership of {@code reading} in {@code level} computed from the breakpoints, without the table.
+     */
+    public double exactMembership(double reading, int level) {
+        double[] p = breakpoints[level];
+        if (reading <= p[0] || reading >= p[3]) return 0.0;
+        if (reading >= p[1] && reading <= p[2]) return 1.0;
+        if (reading < p[1]) return (reading - p[0]) / (p[1] - p[0]);
+        return (p[3] - reading) / (p[3] - p[2]);
+    }
+
+    /**
+     * Writes the {@link #NUM_LEVELS} memberships of one reading into {@code out} at {@code offset}
+     * and returns the mask of the non-zero levels.
+     */
+    public int fuzzify(double reading, double[] out, int offset) {
+        int s = sample(reading);
+        System.arraycopy(memberships, s * NUM_LEVELS, out, offset, NUM_LEVELS);
+        return activeLevels[s];
+    }
+
+    /**
+     * Fuzzifies the {@link SensorArray#NUM_SENSORS} readings at {@code offset} into
+     * {@link SensorArray#NUM_FUZZY_INPUTS} memberships at {@code outOffset}. Returns the mask of the
+     * non-zero inputs: bit {@code sensor * NUM_LEVELS + level}.
+     */
+    public int fuzzifySensors(double[] readings, int offset, double[] out, int outOffset) {
+        int mask = 0;
+        for (int i = 0; i < SensorArray.NUM_SENSORS; i++) {
+            mask |= fuzzify(readings[offset + i], out, outOffset + i * NUM_LEVELS) << (i * NUM_LEVELS);
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of the levels that are non-zero for {@code reading} (at most two with the default partitions).
+     */
+    public int activeLevels(double reading) {
+        return activeLevels[sample(reading)];
+    }
+
+    private static int sample(double reading) {
+        if (reading <= 0) return 0;
+        if (reading >= 100) return NUM_SAMPLES - 1;
+        return 1 + Math.min(NUM_CELLS - 1, (int) (reading * CELLS_PER_UNIT));
+    }
+}
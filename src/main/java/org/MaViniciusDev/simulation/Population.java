@@ -0,0 +1,601 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+import org.MaViniciusDev.ia.LoteFuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays state of one generation of AI cars, indexed by car id.
+ * Each simulation pass (control, physics, sensing, fitness) is a tight loop over
+ * primitive arrays instead of a walk over per-car objects.
+ */
+public class Population {
+
+    // --- TIME AND FITNESS CONSTANTS ---
+    public static final double INITIAL_TIME_REMAINING = 6.0;
+    public static final double MAX_TIME_REMAINING = 15.0;
+    private static final double TIME_BONUS = 4.0;
+    // New best progress, in pixels, that earns one time bonus
+    private static final double PROGRESS_PER_TIME_BONUS = 100.0;
+    private static final double FITNESS_PER_PIXEL = 20.0;
+    private static final double SLOWNESS_PENALTY_FACTOR = 2.0;
+    private static final double MAX_STEERING_DEG_PER_SEC = 180.0;
+    // Best-progress samples kept per car over a stall window; the window slides in steps of 1/N of it
+    private static final int STALL_SAMPLES = 4;
+
+    private static final int NUM_SENSORS = SensorArray.NUM_SENSORS;
+
+    // --- TRACK ---
+    private final TrackGrid grid;
+    private final RayCaster rayCaster;
+    private final Fuzzifier fuzzifier = Fuzzifier.DEFAULT;
+    private CollisionMode collisionMode = CollisionMode.CENTER;
+    private final double carWidth, carHeight;
+    // Collision rectangle of SWEPT_FOOTPRINT: length along the heading, width across it
+    private double footprintLength, footprintWidth;
+
+    private ProgressField progressField;
+    private CullingPolicy cullingPolicy = CullingPolicy.NONE;
+
+    // --- PER-CAR STATE (index = car id) ---
+    private final int size;
+    private CerebroGenetico[] brains;
+    private final double startX, startY, startAngle;
+    private final double[] x, y, speed, angle, throttle;
+    private final boolean[] braking, alive;
+    private final double[] sensorReadings; // NUM_SENSORS readings per car
+    // Per-car inference buffers, reused every step: NUM_FUZZY_INPUTS memberships and 5 rule outputs per car
+    private final double[] fuzzyInputs, ruleOutputs;
+    private final double[] fitness, timeRemaining, lifetime;
+    // Signed progress along the track (a lap adds getLapLength()), its best value so far,
+    // and the field value of the cell the car was last seen in
+    private final double[] progress, bestProgress, cellProgress;
+    private final int[] laps, timeBonuses;
+    // STALL_SAMPLES best-progress samples per car (ring buffer) and how many were taken
+    private final double[] progressSamples;
+    private final int[] samplesTaken;
+    // Rule that ended each car early, as Rule.ordinal() + 1 (0 = not culled)
+    private final byte[] culledBy;
+    // Deaths of each slot over the population's lifetime (never reset) and where the last one happened,
+    // so a viewer still sees a crash when the slot was respawned within the same tick
+    private final int[] deaths;
+    private final double[] deathX, deathY;
+
+    // Lane-parallel inference over blocks of consecutive ids (null = car by car), see setBatchInference
+    private LoteFuzzy batch;
+    // Blocks with a brain replaced by respawn, recompiled before the next step; batchStale = any of them
+    private boolean[] staleBlocks;
+    private boolean batchStale;
+    private int batchLanes;
+    // Column j holds fuzzy input j of every car: fuzzyColumns[j * batchStride + id]
+    private double[] fuzzyColumns, batchSteering, batchAcceleration, batchScratch;
+    private int[] nonZeroMasks;
+    private int batchStride;
+
+    // Ids of the cars alive at the start of the current step
+    private final int[] active;
+    private int activeCount;
+
+    public Population(CerebroGenetico[] brains, double startX, double startY, double startAngle,
+                      TrackGrid grid, RayCaster rayCaster, double carWidth, double carHeight) {
+        this.grid = grid;
+        this.rayCaster = rayCaster;
+        this.carWidth = carWidth;
+        this.carHeight = carHeight;
+        this.footprintLength = carWidth;
+        this.footprintWidth = carHeight;
+
+        this.size = brains.length;
+        this.brains = brains;
+        this.startX = startX;
+        this.startY = startY;
+        this.startAngle = startAngle;
+        this.x = new double[size];
+        this.y = new double[size];
+        this.speed = new double[size];
+        this.angle = new double[size];
+        this.throttle = new double[size];
+        this.braking = new boolean[size];
+        this.alive = new boolean[size];
+        this.sensorReadings = new double[size * NUM_SENSORS];
+        this.fuzzyInputs = new double[size * SensorArray.NUM_FUZZY_INPUTS];
+        this.ruleOutputs = new double[size * CerebroGenetico.NUM_NIVEIS_SAIDA];
+        this.fitness = new double[size];
+        this.timeRemaining = new double[size];
+        this.lifetime = new double[size];
+        this.progress = new double[size];
+        this.bestProgress = new double[size];
+        this.cellProgress = new double[size];
+        this.laps = new int[size];
+        this.timeBonuses = new int[size];
+        this.progressSamples = new double[size * STALL_SAMPLES];
+        this.samplesTaken = new int[size];
+        this.culledBy = new byte[size];
+        this.deaths = new int[size];
+        this.deathX = new double[size];
+        this.deathY = new double[size];
+        this.active = new int[size];
+
+        resetCars();
+    }
+
+    /**
+     * Starts a new generation in place: every car goes back to the start line with the given brains,
+     * reusing all per-car arrays. {@code brains} must have {@link #size()} entries and becomes
+     * owned by the population. Settings (progress field, culling policy, modes) are kept.
+     * Must not be called while a step is running.
+     */
+    public void reset(CerebroGenetico[] brains) {
+        if (brains.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " brains, got " + brains.length);
+        }
+        this.brains = brains;
+        if (batch != null) {
+            // The merged block programs depend on the brains
+            batch = new LoteFuzzy(brains);
+            Arrays.fill(staleBlocks, false);
+            batchStale = false;
+        }
+        resetCars();
+    }
+
+    /**
+     * Puts car {@code i} back on the start line with {@code brain} and a fresh clock, leaving the other
+     * cars as they are (steady-state evolution). Must not be called while a step is running.
+     */
+    public void respawn(int i, CerebroGenetico brain) {
+        brains[i] = brain;
+        if (batch != null) {
+            staleBlocks[i / batchLanes] = true;
+            batchStale = true;
+        }
+        resetCar(i);
+    }
+
+    private void resetCars() {
+        for (int i = 0; i < size; i++) resetCar(i);
+        activeCount = 0;
+    }
+
+    private void resetCar(int i) {
+        x[i] = startX;
+        y[i] = startY;
+        angle[i] = startAngle;
+        speed[i] = 0.0;
+        throttle[i] = 0.0;
+        braking[i] = false;
+        alive[i] = true;
+        Arrays.fill(sensorReadings, i * NUM_SENSORS, (i + 1) * NUM_SENSORS, 100.0);
+        timeRemaining[i] = INITIAL_TIME_REMAINING;
+        fitness[i] = 0.0;
+        lifetime[i] = 0.0;
+        progress[i] = 0.0;
+        bestProgress[i] = 0.0;
+        cellProgress[i] = startCellProgress();
+        laps[i] = 0;
+        timeBonuses[i] = 0;
+        samplesTaken[i] = 0;
+        culledBy[i] = 0;
+    }
+
+    private double startCellProgress() {
+        if (progressField == null) return ProgressField.UNREACHABLE;
+        return progressField.progressAt(startX + carWidth / 2, startY + carHeight / 2);
+    }
+
+    /**
+     * Track progress used for fitness, time bonuses and lap counting; without one, fitness stays 0.
+     * Takes effect for cars that have not moved yet, so set it before the first step of a generation.
+     */
+    public void setProgressField(ProgressField progressField) {
+        this.progressField = progressField;
+        Arrays.fill(cellProgress, startCellProgress());
+    }
+
+    /**
+     * Rules for ending stalled and wrong-way cars early; they need a progress field.
+     */
+    public void setCullingPolicy(CullingPolicy cullingPolicy) {
+        this.cullingPolicy = cullingPolicy;
+    }
+
+    public CullingPolicy getCullingPolicy() { return cullingPolicy; }
+
+    /**
+     * Selects how moves are tested against the walls; the swept modes keep larger timesteps from tunneling.
+     */
+    public void setCollisionMode(CollisionMode collisionMode) {
+        this.collisionMode = collisionMode;
+    }
+
+    /**
+     * Rectangle tested by {@link CollisionMode#SWEPT_FOOTPRINT}, as in {@link Vehicle#setFootprint};
+     * defaults to the car box with the heading along its width.
+     */
+    public void setFootprint(double length, double width) {
+        this.footprintLength = length;
+        this.footprintWidth = width;
+    }
+
+    public CollisionMode getCollisionMode() { return collisionMode; }
+
+    /**
+     * Switches between car-by-car inference and lane-parallel batch inference ({@link LoteFuzzy}),
+     * which gives identical results. Returns whether batch inference is now on: it needs the
+     * {@code jdk.incubator.vector} module. Must not be called while a step is running.
+     */
+    public boolean setBatchInference(boolean enabled) {
+        if (!enabled || !LoteFuzzy.disponivel()) {
+            batch = null;
+            staleBlocks = null;
+            batchStale = false;
+            fuzzyColumns = batchSteering = batchAcceleration = batchScratch = null;
+            nonZeroMasks = null;
+            return false;
+        }
+        if (batch == null) {
+            batch = new LoteFuzzy(brains);
+            batchLanes = batch.getLanes();
+            batchStride = batch.getNumBlocos() * batchLanes;
+            fuzzyColumns = new double[SensorArray.NUM_FUZZY_INPUTS * batchStride];
+            batchSteering = new double[batchStride];
+            batchAcceleration = new double[batchStride];
+            batchScratch = new double[CerebroGenetico.NUM_NIVEIS_SAIDA * batchStride];
+            nonZeroMasks = new int[batchStride];
+            staleBlocks = new boolean[batch.getNumBlocos()];
+        }
+        return true;
+    }
+
+    public boolean isBatchInference() { return batch != null; }
+
+    // --- STEPPING ---
+
+    /**
+     * Advances every alive car by {@code dt} seconds on the calling thread.
+     */
+    public FrameStats step(double dt) {
+        beginStep();
+        return stepActive(dt, 0, activeCount);
+    }
+
+    /**
+     * Snapshots the ids of the cars alive now; {@link #stepActive} then works on slices of that list.
+     */
+    public void beginStep() {
+        if (batchStale) {
+            // Only the blocks of respawned cars; steady state replaces a few cars per tick
+            for (int b = 0; b < staleBlocks.length; b++) {
+                if (!staleBlocks[b]) continue;
+                batch.recompilarBloco(b, brains);
+                staleBlocks[b] = false;
+            }
+            batchStale = false;
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (alive[i]) active[count++] = i;
+        }
+        activeCount = count;
+    }
+
+    public int activeCount() { return activeCount; }
+
+    /**
+     * Moves a slice boundary of the active list forward so that slices never split a lane block of the
+     * batch inference (a block is evaluated, and written, as a whole by one slice).
+     */
+    public int alignSliceEnd(int end) {
+        if (batch == null) return end;
+        while (end > 0 && end < activeCount && active[end] / batchLanes == active[end - 1] / batchLanes) end++;
+        return end;
+    }
+
+    /**
+     * Runs every pass for the active cars {@code [from, to)} and aggregates them. Cars never interact,
+     * so disjoint slices may run concurrently after a single {@link #beginStep()}.
+     */
+    public FrameStats stepActive(double dt, int from, int to) {
+        control(dt, from, to);
+        integrate(dt, from, to);
+        sense(from, to);
+        updateFitness(from, to);
+        return collectStats(from, to);
+    }
+
+    /**
+     * Countdown, fuzzy inference and steering for each active car.
+     */
+    private void control(double dt, int from, int to) {
+        if (batch != null) {
+            controlBatch(dt, from, to);
+            return;
+        }
+        double steeringLimit = MAX_STEERING_DEG_PER_SEC * dt;
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            if (!countDown(i, dt)) continue;
+
+            int inputOffset = i * SensorArray.NUM_FUZZY_INPUTS;
+            int outputOffset = i * CerebroGenetico.NUM_NIVEIS_SAIDA;
+            // Mask of the non-zero memberships lets the rules skip clauses that are necessarily 0
+            int nonZero = fuzzifier.fuzzifySensors(sensorReadings, i * NUM_SENSORS, fuzzyInputs, inputOffset);
+            double desiredAngle = brains[i].processarDirecao(fuzzyInputs, inputOffset, nonZero, ruleOutputs, outputOffset);
+            double desiredAcceleration = brains[i].processarAceleracao(fuzzyInputs, inputOffset, nonZero, ruleOutputs, outputOffset);
+            applyControl(i, desiredAngle, desiredAcceleration, steeringLimit);
+        }
+    }
+
+    /**
+     * {@link #control} with inference run once per lane block instead of once per car.
+     */
+    private void controlBatch(double dt, int from, int to) {
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            if (!countDown(i, dt)) continue;
+
+            int inputOffset = i * SensorArray.NUM_FUZZY_INPUTS;
+            nonZeroMasks[i] = fuzzifier.fuzzifySensors(sensorReadings, i * NUM_SENSORS, fuzzyInputs, inputOffset);
+            for (int j = 0; j < SensorArray.NUM_FUZZY_INPUTS; j++) {
+                fuzzyColumns[j * batchStride + i] = fuzzyInputs[inputOffset + j];
+            }
+        }
+
+        // Active ids are ascending, so the cars of a block are adjacent (and never split across slices)
+        int lastBlock = -1;
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            int block = i / batchLanes;
+            if (!alive[i] || block == lastBlock) continue;
+            lastBlock = block;
+            batch.processarBloco(block, fuzzyColumns, batchStride, nonZeroMasks, batchScratch,
+                    block * batchLanes * CerebroGenetico.NUM_NIVEIS_SAIDA, batchSteering, batchAcceleration);
+        }
+
+        double steeringLimit = MAX_STEERING_DEG_PER_SEC * dt;
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            if (alive[i]) applyControl(i, batchSteering[i], batchAcceleration[i], steeringLimit);
+        }
+    }
+
+    // Runs the car's clock; false if it just ran out of time
+    private boolean countDown(int i, double dt) {
+        timeRemaining[i] -= dt;
+        lifetime[i] += dt;
+        if (timeRemaining[i] <= 0) {
+            destroy(i);
+            return false;
+        }
+        return true;
+    }
+
+    private void applyControl(int i, double desiredAngle, double desiredAcceleration, double steeringLimit) {
+        if (desiredAcceleration == 0.0) desiredAcceleration = 0.5;
+        if (desiredAcceleration < 0) {
+            throttle[i] = 0;
+            braking[i] = true;
+        } else {
+            braking[i] = false;
+            throttle[i] = Math.min(1, desiredAcceleration);
+        }
+
+        angle[i] += Math.max(-steeringLimit, Math.min(steeringLimit, desiredAngle));
+    }
+
+    /**
+     * Speed integration, movement and wall collision.
+     */
+    private void integrate(double dt, int from, int to) {
+        if (dt <= 0) return;
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            if (!alive[i]) continue;
+
+            double v = Vehicle.nextSpeed(speed[i], throttle[i], braking[i], dt);
+            speed[i] = v;
+
+            double rad = Math.toRadians(angle[i]);
+            double newX = x[i] + v * Math.cos(rad) * dt;
+            double newY = y[i] + v * Math.sin(rad) * dt;
+
+            double cx = x[i] + carWidth / 2.0;
+            double cy = y[i] + carHeight / 2.0;
+            double contact = collisionMode.firstContact(grid, cx, cy, newX + carWidth / 2.0, newY + carHeight / 2.0,
+                    angle[i], footprintLength, footprintWidth);
+            if (contact != TrackGrid.NO_CONTACT) {
+                // Stop at the first contact; the centre test reports 0 and leaves the car in place
+                x[i] += (newX - x[i]) * contact;
+                y[i] += (newY - y[i]) * contact;
+                destroy(i);
+            } else {
+                x[i] = newX;
+                y[i] = newY;
+            }
+        }
+    }
+
+    private void sense(int from, int to) {
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            if (!alive[i]) continue;
+            rayCaster.castSensors(getCenterX(i), getCenterY(i), angle[i], sensorReadings, i * NUM_SENSORS);
+        }
+    }
+
+    /**
+     * Track progress, lap counting and fitness for every car that was alive at the start of the step.
+     * Progress is followed through the cell values of the {@link ProgressField}: a jump of more than half
+     * a lap between two steps is the car crossing the start line, forwards or backwards.
+     */
+    private void updateFitness(int from, int to) {
+        if (progressField == null) return;
+        double lapLength = progressField.getLapLength();
+        boolean loops = lapLength < Double.POSITIVE_INFINITY;
+
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+
+            double cell = progressField.progressAt(getCenterX(i), getCenterY(i));
+            if (cell != ProgressField.UNREACHABLE) {
+                if (cellProgress[i] != ProgressField.UNREACHABLE) {
+                    double delta = cell - cellProgress[i];
+                    if (loops) {
+                        if (delta < -lapLength / 2) delta += lapLength;
+                        else if (delta > lapLength / 2) delta -= lapLength;
+                    }
+                    progress[i] += delta;
+                }
+                cellProgress[i] = cell;
+            }
+
+            if (progress[i] > bestProgress[i]) {
+                bestProgress[i] = progress[i];
+                int bonuses = (int) (bestProgress[i] / PROGRESS_PER_TIME_BONUS);
+                if (bonuses > timeBonuses[i]) {
+                    timeRemaining[i] = Math.min(MAX_TIME_REMAINING,
+                            timeRemaining[i] + (bonuses - timeBonuses[i]) * TIME_BONUS);
+                    timeBonuses[i] = bonuses;
+                }
+                if (loops) laps[i] = (int) (bestProgress[i] / lapLength);
+            }
+
+            double slownessPenalty = lifetime[i] * SLOWNESS_PENALTY_FACTOR;
+            fitness[i] = bestProgress[i] * FITNESS_PER_PIXEL - slownessPenalty;
+
+            if (alive[i]) cull(i);
+        }
+    }
+
+    /**
+     * Applies the culling policy to car {@code i} after its progress was updated.
+     */
+    private void cull(int i) {
+        CullingPolicy policy = cullingPolicy;
+        if (policy.cullsWrongWay() && progress[i] < bestProgress[i] - policy.maxBacktrack()) {
+            cull(i, CullingPolicy.Rule.WRONG_WAY);
+            return;
+        }
+        if (!policy.cullsStalled()) return;
+
+        int taken = samplesTaken[i];
+        if (lifetime[i] < taken * policy.stallWindow() / STALL_SAMPLES) return;
+        // The slot about to be overwritten holds the sample from one window ago
+        int slot = i * STALL_SAMPLES + taken % STALL_SAMPLES;
+        if (taken >= STALL_SAMPLES && bestProgress[i] - progressSamples[slot] < policy.minProgress()) {
+            cull(i, CullingPolicy.Rule.STALLED);
+            return;
+        }
+        progressSamples[slot] = bestProgress[i];
+        samplesTaken[i] = taken + 1;
+    }
+
+    private void cull(int i, CullingPolicy.Rule rule) {
+        destroy(i);
+        culledBy[i] = (byte) (rule.ordinal() + 1);
+    }
+
+    private FrameStats collectStats(int from, int to) {
+        int aliveCount = 0;
+        double bestFitness = 0;
+        int bestCar = -1;
+        int maxLaps = 0;
+        for (int k = from; k < to; k++) {
+            int i = active[k];
+            if (!alive[i]) continue;
+            aliveCount++;
+            if (fitness[i] > bestFitness) {
+                bestFitness = fitness[i];
+                bestCar = i;
+            }
+            if (laps[i] > maxLaps) maxLaps = laps[i];
+        }
+        return new FrameStats(aliveCount, bestFitness, bestCar, maxLaps);
+    }
+
+    // --- CONTROL ---
+
+    public void destroy(int i) {
+        if (!alive[i]) return;
+        alive[i] = false;
+        deaths[i]++;
+        deathX[i] = x[i];
+        deathY[i] = y[i];
+        speed[i] = 0;
+        throttle[i] = 0;
+        braking[i] = true;
+    }
+
+    public void destroyAll() {
+        for (int i = 0; i < size; i++) destroy(i);
+    }
+
+    /**
+     * Rule that ended car {@code i} early, or null if it was not culled.
+     */
+    public CullingPolicy.Rule getCullRule(int i) {
+        return culledBy[i] == 0 ? null : CullingPolicy.Rule.values()[culledBy[i] - 1];
+    }
+
+    /**
+     * Number of cars of this generation ended early by {@code rule}.
+     */
+    public int getCulledCount(CullingPolicy.Rule rule) {
+        return getCulledCount(rule, 0, size);
+    }
+
+    /**
+     * Number of cars {@code [from, to)} ended early by {@code rule}.
+     */
+    public int getCulledCount(CullingPolicy.Rule rule, int from, int to) {
+        byte code = (byte) (rule.ordinal() + 1);
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (culledBy[i] == code) count++;
+        }
+        return count;
+    }
+
+    // --- ACCESSORS ---
+
+    public int size() { return size; }
+    public boolean isAlive(int i) { return alive[i]; }
+    public double getX(int i) { return x[i]; }
+    public double getY(int i) { return y[i]; }
+    public double getCenterX(int i) { return x[i] + carWidth / 2; }
+    public double getCenterY(int i) { return y[i] + carHeight / 2; }
+    public double getCarWidth() { return carWidth; }
+    public double getCarHeight() { return carHeight; }
+    public double getAngle(int i) { return angle[i]; }
+    public double getSpeed(int i) { return speed[i]; }
+    public double getFitness(int i) { return fitness[i]; }
+    public int getLaps(int i) { return laps[i]; }
+    public double getProgress(int i) { return progress[i]; }
+    public CerebroGenetico getBrain(int i) { return brains[i]; }
+    CerebroGenetico[] getBrains() { return brains; }
+
+    /**
+     * Copies every car's pose and alive flag into the first {@link #size()} entries of the given arrays.
+     */
+    void copyPoses(double[] xOut, double[] yOut, double[] angleOut, boolean[] aliveOut) {
+        System.arraycopy(x, 0, xOut, 0, size);
+        System.arraycopy(y, 0, yOut, 0, size);
+        System.arraycopy(angle, 0, angleOut, 0, size);
+        System.arraycopy(alive, 0, aliveOut, 0, size);
+    }
+
+    /**
+     * Copies the death count of every car and the top-left corner where each one last died.
+     */
+    void copyDeaths(int[] deathsOut, double[] xOut, double[] yOut) {
+        System.arraycopy(deaths, 0, deathsOut, 0, size);
+        System.arraycopy(deathX, 0, xOut, 0, size);
+        System.arraycopy(deathY, 0, yOut, 0, size);
+    }
+
+    /**
+     * Live sensor buffer, {@link SensorArray#NUM_SENSORS} readings per car starting at {@code id * NUM_SENSORS}. Read-only.
+     */
+    public double[] getSensorReadings() { return sensorReadings; }
+}
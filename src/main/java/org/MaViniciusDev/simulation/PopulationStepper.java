@@ -0,0 +1,66 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Steps a {@link Population} on a configurable number of threads. The active cars are split into
+ * contiguous chunks, each chunk runs every pass independently, and the per-chunk {@link FrameStats}
+ * are merged in chunk order so the aggregates are identical to a serial step.
+ */
+public class PopulationStepper implements AutoCloseable {
+    // Below this many cars per chunk the fork/join overhead outweighs the work
+    private static final int MIN_CHUNK_SIZE = 32;
+    // Chunks per thread, so that uneven chunks (crashed cars are cheap) still balance out
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int threads;
+    private final ForkJoinPool pool;
+
+    public PopulationStepper(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+    }
+
+    public int getThreads() { return threads; }
+
+    public FrameStats step(Population population, double dt) {
+        population.beginStep();
+        int activeCount = population.activeCount();
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, Math.ceilDiv(activeCount, threads * CHUNKS_PER_THREAD));
+        if (pool == null || activeCount <= chunkSize) {
+            return population.stepActive(dt, 0, activeCount);
+        }
+
+        List<Callable<FrameStats>> chunks = new ArrayList<>();
+        for (int from = 0; from < activeCount; ) {
+            int start = from;
+            int end = population.alignSliceEnd(Math.min(activeCount, from + chunkSize));
+            chunks.add(() -> population.stepActive(dt, start, end));
+            from = end;
+        }
+
+        FrameStats stats = FrameStats.EMPTY;
+        try {
+            for (Future<FrameStats> chunk : pool.invokeAll(chunks)) {
+                stats = stats.merge(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Population step interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Population step failed", e.getCause());
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdown();
+    }
+}
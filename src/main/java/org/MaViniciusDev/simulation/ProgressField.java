@@ -0,0 +1,164 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Lap progress of every open cell of a track: the shortest drivable distance, in pixels, from the
+ * start line to the cell centre, going the way the start heading points. It is computed once per map
+ * (Dijkstra over the 8-connected open cells) with the start line as a one-way barrier, so the cells
+ * just behind the line are the farthest ones, about one {@link #getLapLength() lap} away.
+ * Looking a car's progress up is then a single array read.
+ */
+public final class ProgressField {
+    /** Progress of walls and of cells that cannot be reached from the start line. */
+    public static final float UNREACHABLE = -1f;
+
+    private final TrackGrid grid;
+    private final float[] progress;
+    private final double lapLength;
+
+    private ProgressField(TrackGrid grid, float[] progress, double lapLength) {
+        this.grid = grid;
+        this.progress = progress;
+        this.lapLength = lapLength;
+    }
+
+    /**
+     * Builds the field for a start line through (startX, startY), in pixels, perpendicular to
+     * {@code headingDeg} and spanning the track up to the walls on either side.
+     */
+    public static ProgressField compute(TrackGrid grid, double startX, double startY, double headingDeg) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        double cw = grid.getCellWidth();
+        double ch = grid.getCellHeight();
+        if (grid.isWall((int) Math.floor(startX / cw), (int) Math.floor(startY / ch))) {
+            throw new IllegalArgumentException("Start point is inside a wall: " + startX + ", " + startY);
+        }
+
+        double rad = Math.toRadians(headingDeg);
+        double dirX = Math.cos(rad);
+        double dirY = Math.sin(rad);
+        // Extent of the start line along the perpendicular, from the start point to the walls
+        double lineMin = -wallDistance(grid, startX, startY, dirY, -dirX);
+        double lineMax = wallDistance(grid, startX, startY, -dirY, dirX);
+        // Slack around the line ends, small enough not to reach a track on the other side of a 1-cell wall
+        double margin = Math.max(cw, ch) / 2.0;
+
+        double[] dist = new double[width * height];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+
+        // Seeds: open cells just ahead of the line, at their distance from it
+        for (int gy = 0; gy < height; gy++) {
+            for (int gx = 0; gx < width; gx++) {
+                if (grid.isWall(gx, gy)) continue;
+                double cx = (gx + 0.5) * cw - startX;
+                double cy = (gy + 0.5) * ch - startY;
+                double along = cx * dirX + cy * dirY;
+                double across = -cx * dirY + cy * dirX;
+                if (along >= 0 && along < 2 * margin && across >= lineMin - margin && across <= lineMax + margin) {
+                    dist[gy * width + gx] = along;
+                    queue.add(new QueueEntry(along, gy * width + gx));
+                }
+            }
+        }
+
+        double diagonal = Math.hypot(cw, ch);
+        double lapLength = Double.POSITIVE_INFINITY;
+        while (!queue.isEmpty()) {
+            QueueEntry head = queue.poll();
+            double d = head.distance();
+            int cell = head.cell();
+            if (d > dist[cell]) continue; // Stale entry, a shorter path was found
+            int gx = cell % width;
+            int gy = cell / width;
+            for (int oy = -1; oy <= 1; oy++) {
+                for (int ox = -1; ox <= 1; ox++) {
+                    if (ox == 0 && oy == 0) continue;
+                    int nx = gx + ox;
+                    int ny = gy + oy;
+                    if (grid.isWall(nx, ny)) continue;
+                    // No cutting corners between two walls
+                    if (ox != 0 && oy != 0 && (grid.isWall(gx + ox, gy) || grid.isWall(gx, gy + oy))) continue;
+
+                    double nd = d + (ox != 0 && oy != 0 ? diagonal : ox != 0 ? cw : ch);
+                    if (crossesLine(gx, gy, nx, ny, cw, ch, startX, startY, dirX, dirY, lineMin - margin, lineMax + margin)) {
+                        // Reaching the line again from behind closes the lap; crossing it is never allowed
+                        if (isAhead(nx, ny, cw, ch, startX, startY, dirX, dirY)) {
+                            lapLength = Math.min(lapLength, nd);
+                        }
+                        continue;
+                    }
+
+                    int neighbour = ny * width + nx;
+                    if (nd < dist[neighbour]) {
+                        dist[neighbour] = nd;
+                        queue.add(new QueueEntry(nd, neighbour));
+                    }
+                }
+            }
+        }
+
+        float[] progress = new float[dist.length];
+        for (int i = 0; i < dist.length; i++) {
+            progress[i] = dist[i] == Double.POSITIVE_INFINITY ? UNREACHABLE : (float) dist[i];
+        }
+        return new ProgressField(grid, progress, lapLength);
+    }
+
+    // Whether the move between two cell centres passes through the start line segment
+    private static boolean crossesLine(int ax, int ay, int bx, int by, double cw, double ch,
+                                       double startX, double startY, double dirX, double dirY,
+                                       double acrossMin, double acrossMax) {
+        double axp = (ax + 0.5) * cw - startX, ayp = (ay + 0.5) * ch - startY;
+        double bxp = (bx + 0.5) * cw - startX, byp = (by + 0.5) * ch - startY;
+        double alongA = axp * dirX + ayp * dirY;
+        double alongB = bxp * dirX + byp * dirY;
+        if ((alongA >= 0) == (alongB >= 0)) return false;
+        double across = (-(axp + bxp) * dirY + (ayp + byp) * dirX) / 2.0;
+        return across >= acrossMin && across <= acrossMax;
+    }
+
+    private static boolean isAhead(int gx, int gy, double cw, double ch,
+                                   double startX, double startY, double dirX, double dirY) {
+        return ((gx + 0.5) * cw - startX) * dirX + ((gy + 0.5) * ch - startY) * dirY >= 0;
+    }
+
+    // Distance from (x, y) along (dx, dy) to the first wall, probing every half cell
+    private static double wallDistance(TrackGrid grid, double x, double y, double dx, double dy) {
+        double step = Math.min(grid.getCellWidth(), grid.getCellHeight()) / 2.0;
+        double limit = Math.max(grid.getWidth() * grid.getCellWidth(), grid.getHeight() * grid.getCellHeight());
+        double d = 0;
+        while (d < limit) {
+            double px = x + dx * (d + step);
+            double py = y + dy * (d + step);
+            if (grid.isWall((int) Math.floor(px / grid.getCellWidth()), (int) Math.floor(py / grid.getCellHeight()))) break;
+            d += step;
+        }
+        return d;
+    }
+
+    private record QueueEntry(double distance, int cell) implements Comparable<QueueEntry> {
+        @Override
+        public int compareTo(QueueEntry other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+
+    /**
+     * Progress of the cell containing (x, y), in pixels, or {@link #UNREACHABLE}.
+     */
+    public double progressAt(double x, double y) {
+        int gx = (int) Math.floor(x / grid.getCellWidth());
+        int gy = (int) Math.floor(y / grid.getCellHeight());
+        if (gx < 0 || gy < 0 || gx >= grid.getWidth() || gy >= grid.getHeight()) return UNREACHABLE;
+        return progress[gy * grid.getWidth() + gx];
+    }
+
+    /**
+     * Distance of one lap along the track, or infinity if the track does not loop back to the start line.
+     */
+    public double getLapLength() { return lapLength; }
+}
@@ -0,0 +1,55 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derives independent {@link SplittableRandom} streams from a single run seed.
+ * A stream depends only on (seed, generation, operator, slot), never on how many numbers
+ * other streams consumed or on which thread asked first, so a seed reproduces a run bit for bit.
+ */
+public final class RandomStreams {
+
+    public enum Operator { INITIALIZATION, SELECTION, CROSSOVER, MUTATION }
+
+    // Birth keys sit above the int range of generations, so the two key spaces never meet
+    private static final long BIRTHS = 1L << 32;
+
+    private final long seed;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() { return seed; }
+
+    /**
+     * Stream for one operator applied to one slot (car id) of one generation.
+     */
+    public SplittableRandom stream(int generation, Operator operator, int slot) {
+        return derive(generation, operator, slot);
+    }
+
+    /**
+     * Stream for one operator of steady-state birth number {@code birth}, refilling {@code slot}.
+     * Kept apart from the generation streams: birth n never replays generation n.
+     */
+    public SplittableRandom birthStream(int birth, Operator operator, int slot) {
+        return derive(BIRTHS | Integer.toUnsignedLong(birth), operator, slot);
+    }
+
+    private SplittableRandom derive(long index, Operator operator, int slot) {
+        long key = mix64(seed);
+        key = mix64(key ^ index);
+        key = mix64(key ^ operator.ordinal());
+        key = mix64(key ^ slot);
+        return new SplittableRandom(key);
+    }
+
+    // SplitMix64 finalizer: spreads each input bit over the whole word
+    private static long mix64(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
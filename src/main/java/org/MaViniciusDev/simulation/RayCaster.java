@@ -0,0 +1,145 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * Casts sensor rays against a static track grid. Stateless once built (apart from the selected
+ * {@link Mode}, changed between steps), so a single instance can serve every car of a population.
+ */
+public class RayCaster {
+
+    public enum Mode {
+        /** Exact cell-by-cell grid traversal. */
+        DDA,
+        /** Jumps across open space using a precomputed {@link DistanceField}, then finishes with DDA. */
+        SPHERE_TRACING,
+        /** Reads sensors from a precomputed {@link SensorTable}; approximate, quantized position and heading. */
+        LOOKUP_TABLE
+    }
+
+    // --- LOOKUP TABLE SETTINGS ---
+    private static final int TABLE_SUBDIVISIONS = 2;
+    private static final double TABLE_HEADING_STEP_DEG = 1.0;
+    private static final long TABLE_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private final TrackGrid grid;
+    private final double cellWidth;
+    private final double cellHeight;
+
+    private Mode mode = Mode.DDA;
+    private DistanceField distanceField; // built on first use of SPHERE_TRACING
+    private SensorTable sensorTable;     // built on first use of LOOKUP_TABLE
+    // Below this clearance a jump saves less than a DDA step, so the traversal takes over
+    private final double minJump;
+
+    public RayCaster(TrackGrid grid) {
+        this.grid = grid;
+        this.cellWidth = grid.getCellWidth();
+        this.cellHeight = grid.getCellHeight();
+        this.minJump = Math.min(cellWidth, cellHeight);
+    }
+
+    public Mode getMode() { return mode; }
+
+    /**
+     * Selects how rays are cast, building the structure the mode needs on first use.
+     * {@link Mode#LOOKUP_TABLE} is refused (the mode stays unchanged) when the table would exceed
+     * the memory budget, so callers should read back {@link #getMode()}.
+     * Must not be called while a step is running.
+     */
+    public void setMode(Mode mode) {
+        if (mode == Mode.SPHERE_TRACING && distanceField == null) {
+            distanceField = DistanceField.compute(grid);
+        }
+        if (mode == Mode.LOOKUP_TABLE && sensorTable == null) {
+            long bytes = SensorTable.sizeInBytes(grid.getWidth(), grid.getHeight(), TABLE_SUBDIVISIONS, TABLE_HEADING_STEP_DEG);
+            if (bytes > TABLE_BUDGET_BYTES) return;
+            // Cast with the current exact mode; castRay never reads the table
+            sensorTable = SensorTable.build(this, grid, TABLE_SUBDIVISIONS, TABLE_HEADING_STEP_DEG);
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Writes the {@link SensorArray#NUM_SENSORS} readings (0-100) for a car into {@code out}, starting at {@code offset}.
+     */
+    public void castSensors(double carX, double carY, double carAngle, double[] out, int offset) {
+        if (mode == Mode.LOOKUP_TABLE && !grid.isWall((int) Math.floor(carX / cellWidth), (int) Math.floor(carY / cellHeight))) {
+            for (int i = 0; i < SensorArray.NUM_SENSORS; i++) {
+                out[offset + i] = sensorTable.reading(carX, carY, carAngle + SensorArray.getSensorAngle(i));
+            }
+            return;
+        }
+        for (int i = 0; i < SensorArray.NUM_SENSORS; i++) {
+            double sensorAngle = carAngle + SensorArray.getSensorAngle(i);
+            out[offset + i] = castRay(carX, carY, sensorAngle);
+        }
+    }
+
+    /**
+     * Distance from (startX, startY) to the first wall (or the grid edge) along {@code angle},
+     * as a 0-100 reading of {@link SensorArray#MAX_SENSOR_RANGE}. Always exact: the lookup table
+     * is only used by {@link #castSensors}.
+     */
+    public double castRay(double startX, double startY, double angle) {
+        double rad = Math.toRadians(angle);
+        double dirX = Math.cos(rad);
+        double dirY = Math.sin(rad);
+        double range = SensorArray.MAX_SENSOR_RANGE;
+
+        double t = 0;
+        if (mode == Mode.SPHERE_TRACING) {
+            // Every jump stays inside the clearance of the current cell, so no wall is skipped
+            while (t < range) {
+                int gridX = (int) Math.floor((startX + dirX * t) / cellWidth);
+                int gridY = (int) Math.floor((startY + dirY * t) / cellHeight);
+                if (grid.isWall(gridX, gridY)) break;
+                double clearance = distanceField.clearance(gridX, gridY);
+                if (clearance < minJump) break;
+                t += clearance;
+            }
+            if (t >= range) return 100.0;
+        }
+
+        double hit = t + traverse(startX + dirX * t, startY + dirY * t, dirX, dirY);
+        if (hit >= range) return 100.0;
+        return (hit / range) * 100.0;
+    }
+
+    /**
+     * Exact grid traversal (Amanatides-Woo): visits every cell the ray crosses exactly once, in order,
+     * and returns the distance to the first wall, or infinity past the sensor range.
+     */
+    private double traverse(double startX, double startY, double dirX, double dirY) {
+        int gridX = (int) Math.floor(startX / cellWidth);
+        int gridY = (int) Math.floor(startY / cellHeight);
+        if (grid.isWall(gridX, gridY)) return 0.0;
+
+        int stepX = dirX > 0 ? 1 : -1;
+        int stepY = dirY > 0 ? 1 : -1;
+
+        // Ray length needed to cross one whole cell along each axis
+        double tDeltaX = dirX != 0 ? cellWidth / Math.abs(dirX) : Double.POSITIVE_INFINITY;
+        double tDeltaY = dirY != 0 ? cellHeight / Math.abs(dirY) : Double.POSITIVE_INFINITY;
+
+        // Ray length until the first vertical / horizontal cell boundary
+        double tMaxX = dirX > 0 ? ((gridX + 1) * cellWidth - startX) / dirX
+                : dirX < 0 ? (gridX * cellWidth - startX) / dirX : Double.POSITIVE_INFINITY;
+        double tMaxY = dirY > 0 ? ((gridY + 1) * cellHeight - startY) / dirY
+                : dirY < 0 ? (gridY * cellHeight - startY) / dirY : Double.POSITIVE_INFINITY;
+
+        while (true) {
+            double t;
+            if (tMaxX < tMaxY) {
+                t = tMaxX;
+                tMaxX += tDeltaX;
+                gridX += stepX;
+            } else {
+                t = tMaxY;
+                tMaxY += tDeltaY;
+                gridY += stepY;
+            }
+
+            if (t >= SensorArray.MAX_SENSOR_RANGE) return Double.POSITIVE_INFINITY;
+            if (grid.isWall(gridX, gridY)) return t;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Distance sensors of a single car, cast against the track grid.
+ * Pure simulation code: rendering lives in {@code view.SensorSystem}.
+ */
+public class SensorArray {
+    // Sensor configuration
+    public static final int NUM_SENSORS = 5;
+    // 5 distance levels per sensor
+    public static final int NUM_FUZZY_INPUTS = NUM_SENSORS * 5;
+
+    // --- ALTERAÇÃO: VISÃO DE LONGO ALCANCE (300px) ---
+    public static final double MAX_SENSOR_RANGE = 300.0;
+
+    private static final double[] SENSOR_ANGLES = {-45, -22.5, 0, 22.5, 45};
+
+    private final double[] sensorReadings = new double[NUM_SENSORS];
+
+    private final RayCaster rayCaster;
+
+    public enum DistanceLevel {
+        MUITO_PERTO, PERTO, MEDIO, LONGE, MUITO_LONGE
+    }
+
+    public SensorArray(TrackGrid grid) {
+        this.rayCaster = new RayCaster(grid);
+        Arrays.fill(sensorReadings, 100.0);
+    }
+
+    public void updateSensors(double carX, double carY, double carAngle) {
+        rayCaster.castSensors(carX, carY, carAngle, sensorReadings, 0);
+    }
+
+    public static double getSensorAngle(int sensor) {
+        return SENSOR_ANGLES[sensor];
+    }
+
+    public double getReading(int sensor) {
+        return sensorReadings[sensor];
+    }
+
+    public static double getMembership(double value, DistanceLevel level) {
+        return switch (level) {
+            case MUITO_PERTO -> trapezoid(value, 0, 0, 10, 20);
+            case PERTO -> triangle(value, 15, 27.5, 40);
+            case MEDIO -> triangle(value, 35, 50, 65);
+            case LONGE -> triangle(value, 60, 72.5, 85);
+            case MUITO_LONGE -> trapezoid(value, 80, 90, 100, 100);
+        };
+    }
+
+    private static double triangle(double x, double a, double b, double c) {
+        if (x <= a || x >= c) return 0.0;
+        if (x == b) return 1.0;
+        if (x < b) return (x - a) / (b - a);
+        return (c - x) / (c - b);
+    }
+
+    private static double trapezoid(double x, double a, double b, double c, double d) {
+        if (x <= a || x >= d) return 0.0;
+        if (x >= b && x <= c) return 1.0;
+        if (x < b) return (x - a) / (b - a);
+        return (d - x) / (d - c);
+    }
+
+    public double[] getSensorReadings() { return sensorReadings.clone(); }
+
+    /**
+     * Copies the readings into {@code out} (at least {@link #NUM_SENSORS} long) and returns it.
+     */
+    public double[] getSensorReadings(double[] out) {
+        System.arraycopy(sensorReadings, 0, out, 0, NUM_SENSORS);
+        return out;
+    }
+
+    public double[] getFuzzySnapshot() {
+        return fuzzify(sensorReadings, 0);
+    }
+
+    /**
+     * Writes the memberships of the current readings into {@code out} (at least {@link #NUM_FUZZY_INPUTS} long) and returns it.
+     */
+    public double[] getFuzzySnapshot(double[] out) {
+        fuzzify(sensorReadings, 0, out, 0);
+        return out;
+    }
+
+    /**
+     * Fuzzifies the {@link #NUM_SENSORS} readings starting at {@code offset} into 25 memberships
+     * (5 distance levels per sensor).
+     */
+    public static double[] fuzzify(double[] readings, int offset) {
+        double[] snapshot = new double[NUM_FUZZY_INPUTS];
+        fuzzify(readings, offset, snapshot, 0);
+        return snapshot;
+    }
+
+    /**
+     * Allocation-free form of {@link #fuzzify(double[], int)}: writes the 25 memberships into
+     * {@code out} starting at {@code outOffset}.
+     */
+    public static void fuzzify(double[] readings, int offset, double[] out, int outOffset) {
+        int index = outOffset;
+        for (int i = 0; i < NUM_SENSORS; i++) {
+            double leitura = readings[offset + i];
+            out[index++] = getMembership(leitura, DistanceLevel.MUITO_PERTO);
+            out[index++] = getMembership(leitura, DistanceLevel.PERTO);
+            out[index++] = getMembership(leitura, DistanceLevel.MEDIO);
+            out[index++] = getMembership(leitura, DistanceLevel.LONGE);
+            out[index++] = getMembership(leitura, DistanceLevel.MUITO_LONGE);
+        }
+    }
+}
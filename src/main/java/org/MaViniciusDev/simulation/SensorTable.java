@@ -0,0 +1,96 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed sensor readings of a static track, so that sensing becomes a memory read.
+ * The map is split into sub-cells and the ray directions into fixed heading bins; each entry holds
+ * the reading of one ray cast from a sub-cell centre. Rays are stored by absolute direction, so all
+ * {@link SensorArray#NUM_SENSORS} sensors share the same table.
+ * Readings are quantized to 16 bits and kept in a single flat array indexed by
+ * {@code (subRow * subColumns + subColumn) * headingBins + bin}.
+ */
+public final class SensorTable {
+    private static final double READING_SCALE = 65535.0 / 100.0;
+
+    private final int subColumns;
+    private final int subRows;
+    private final double subWidth;
+    private final double subHeight;
+    private final int headingBins;
+    private final double binsPerDegree;
+    private final short[] readings;
+
+    private SensorTable(int subColumns, int subRows, double subWidth, double subHeight, int headingBins,
+                        short[] readings) {
+        this.subColumns = subColumns;
+        this.subRows = subRows;
+        this.subWidth = subWidth;
+        this.subHeight = subHeight;
+        this.headingBins = headingBins;
+        this.binsPerDegree = headingBins / 360.0;
+        this.readings = readings;
+    }
+
+    /**
+     * Size in bytes of the table for a grid, without building it.
+     */
+    public static long sizeInBytes(int largura, int altura, int subdivisions, double headingStepDeg) {
+        return (long) largura * subdivisions * altura * subdivisions * headingBins(headingStepDeg) * Short.BYTES;
+    }
+
+    /**
+     * Casts every entry with {@code caster}, one table row per task.
+     *
+     * @param subdivisions   sub-cells per cell along each axis
+     * @param headingStepDeg heading bin width, must divide 360
+     */
+    public static SensorTable build(RayCaster caster, TrackGrid grid, int subdivisions, double headingStepDeg) {
+        int largura = grid.getWidth();
+        int altura = grid.getHeight();
+        if (subdivisions < 1) {
+            throw new IllegalArgumentException("subdivisions must be at least 1: " + subdivisions);
+        }
+        if (sizeInBytes(largura, altura, subdivisions, headingStepDeg) / Short.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Sensor table too large for a single array");
+        }
+        int bins = headingBins(headingStepDeg);
+        int subColumns = largura * subdivisions;
+        int subRows = altura * subdivisions;
+        double subWidth = grid.getCellWidth() / subdivisions;
+        double subHeight = grid.getCellHeight() / subdivisions;
+        short[] readings = new short[subColumns * subRows * bins];
+
+        IntStream.range(0, subRows).parallel().forEach(row -> {
+            double y = (row + 0.5) * subHeight;
+            for (int column = 0; column < subColumns; column++) {
+                double x = (column + 0.5) * subWidth;
+                int base = (row * subColumns + column) * bins;
+                for (int bin = 0; bin < bins; bin++) {
+                    double reading = caster.castRay(x, y, bin * headingStepDeg);
+                    readings[base + bin] = (short) Math.round(reading * READING_SCALE);
+                }
+            }
+        });
+        return new SensorTable(subColumns, subRows, subWidth, subHeight, bins, readings);
+    }
+
+    private static int headingBins(double headingStepDeg) {
+        double bins = 360.0 / headingStepDeg;
+        if (!(headingStepDeg > 0) || bins != Math.rint(bins)) {
+            throw new IllegalArgumentException("Heading step must divide 360 degrees: " + headingStepDeg);
+        }
+        return (int) bins;
+    }
+
+    /**
+     * Reading (0-100) of the ray from the sub-cell containing (x, y), along the heading bin nearest {@code angle}.
+     * The point must lie inside the grid.
+     */
+    public double reading(double x, double y, double angle) {
+        int column = Math.min(subColumns - 1, (int) (x / subWidth));
+        int row = Math.min(subRows - 1, (int) (y / subHeight));
+        int bin = Math.floorMod((int) Math.round(angle * binsPerDegree), headingBins);
+        return Short.toUnsignedInt(readings[(row * subColumns + column) * headingBins + bin]) / READING_SCALE;
+    }
+}
@@ -0,0 +1,164 @@
+package org.MaViniciusDev.simulation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a {@link TrainingSession} on its own thread, so rendering and the UI never wait for a step.
+ * Progress is published as {@link FrameSnapshot}s through a lock-free triple buffer: the simulation
+ * always has a buffer to fill, the reader always gets the latest complete one, and neither blocks.
+ * Everything that changes the session goes through {@link #submit}, which runs it between ticks.
+ */
+public class SimulationRunner implements AutoCloseable {
+    // Simulated time caught up per wake-up at most; a longer stall is dropped, not replayed
+    private static final double MAX_BACKLOG = 0.1;
+    // Wall-clock time the normal mode may spend catching up before it publishes anyway
+    private static final long CATCH_UP_BUDGET_NANOS = 12_000_000L;
+    // How often turbo mode publishes a snapshot while it runs ticks back to back
+    private static final long PUBLISH_INTERVAL_NANOS = 4_000_000L;
+    // Longest sleep, so speed changes and commands are picked up quickly
+    private static final long MAX_PARK_NANOS = 5_000_000L;
+
+    // Set in the shared slot when it holds a snapshot the reader has not taken yet
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final TrainingSession session;
+    private final Queue<Consumer<TrainingSession>> commands = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile double timeScale = 1.0;
+    private volatile boolean turbo = false;
+
+    // Triple buffer: the simulation owns snapshots[back], the reader owns snapshots[front],
+    // and the third is parked in the shared slot
+    private final FrameSnapshot[] snapshots = {new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot()};
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    public SimulationRunner(TrainingSession session) {
+        this.session = session;
+        // The reader has something to show before the first publish
+        snapshots[front].capture(session);
+        this.thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs {@code command} on the simulation thread before the next tick.
+     */
+    public void submit(Consumer<TrainingSession> command) {
+        commands.add(command);
+        LockSupport.unpark(thread);
+    }
+
+    /** Simulated seconds per real second in normal mode. */
+    public void setTimeScale(double timeScale) { this.timeScale = timeScale; }
+
+    /** Turbo mode runs ticks back to back, as fast as the session can go. */
+    public void setTurbo(boolean turbo) {
+        this.turbo = turbo;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * The most recently published snapshot. Reader side: call from a single thread (the FX thread);
+     * the result stays valid and unchanged until the next call.
+     */
+    public FrameSnapshot latest() {
+        if ((shared.get() & FRESH) != 0) {
+            front = shared.getAndSet(front) & INDEX;
+        }
+        return snapshots[front];
+    }
+
+    private void publish() {
+        snapshots[back].capture(session);
+        back = shared.getAndSet(back | FRESH) & INDEX;
+    }
+
+    private void run() {
+        double accumulator = 0;
+        long last = System.nanoTime();
+        try {
+            while (running) {
+                for (Consumer<TrainingSession> command; (command = commands.poll()) != null; ) {
+                    runCommand(command);
+                }
+
+                long now = System.nanoTime();
+                double elapsed = Math.min((now - last) / 1_000_000_000.0, MAX_BACKLOG);
+                last = now;
+
+                if (session.hasWinner()) {
+                    publish();
+                    LockSupport.parkNanos(MAX_PARK_NANOS);
+                    continue;
+                }
+
+                if (turbo) {
+                    accumulator = 0;
+                    long deadline = now + PUBLISH_INTERVAL_NANOS;
+                    do {
+                        session.tick();
+                    } while (!session.hasWinner() && System.nanoTime() < deadline);
+                    publish();
+                    continue;
+                }
+
+                accumulator += elapsed * timeScale;
+                long deadline = now + CATCH_UP_BUDGET_NANOS;
+                boolean ticked = false;
+                while (accumulator >= TrainingSession.FIXED_DT && !session.hasWinner()) {
+                    session.tick();
+                    ticked = true;
+                    accumulator -= TrainingSession.FIXED_DT;
+                    if (System.nanoTime() >= deadline) {
+                        // Drop the backlog instead of falling further behind on every wake-up
+                        accumulator = Math.min(accumulator, TrainingSession.FIXED_DT);
+                        break;
+                    }
+                }
+                if (ticked) publish();
+
+                // Sleep until the next tick is due
+                double untilNextTick = (TrainingSession.FIXED_DT - accumulator) / Math.max(timeScale, 1e-3);
+                LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, (long) (untilNextTick * 1_000_000_000.0)));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Simulation thread stopped: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    // A rejected command (e.g. a setting the session does not support) is dropped; the run goes on
+    private void runCommand(Consumer<TrainingSession> command) {
+        try {
+            command.accept(session);
+        } catch (RuntimeException e) {
+            System.err.println("Simulation command failed: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops the simulation thread, waits for it to finish the current tick and closes the session.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        session.close();
+    }
+}
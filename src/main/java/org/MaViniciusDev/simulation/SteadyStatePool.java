@@ -0,0 +1,140 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Evaluated genomes of a steady-state run: every car that finishes is offered to the pool with its
+ * fitness, and offspring are bred from the pool by tournament. The pool owns copies of the brains,
+ * so the car slot can be refilled right away. Whatever the {@link TrainingSession.Replacement}
+ * policy, the {@code eliteCount} fittest entries are never evicted.
+ */
+final class SteadyStatePool {
+    private CerebroGenetico[] brains = new CerebroGenetico[0];
+    private double[] fitness = new double[0];
+    // Order in which the entries were inserted, for OLDEST replacement
+    private long[] insertedAt = new long[0];
+    // Scratch flags of the protected entries, for OLDEST replacement
+    private boolean[] elite = new boolean[0];
+    private int count = 0;
+    private long insertions = 0;
+    // Set once the pool has been full; growing the capacity afterwards does not clear it
+    private boolean ready = false;
+
+    SteadyStatePool(int capacity) {
+        resize(capacity);
+    }
+
+    int size() { return count; }
+
+    int capacity() { return brains.length; }
+
+    boolean isFull() { return count == brains.length; }
+
+    /**
+     * Whether children are bred from the pool: true once it has been full. A pool grown for a larger
+     * population keeps breeding from the genomes it already holds while the new room fills up.
+     */
+    boolean isReady() { return ready; }
+
+    /**
+     * Changes the capacity; when shrinking, the least fit entries are dropped.
+     */
+    void resize(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Pool capacity must be positive: " + capacity);
+        if (capacity < count) {
+            // Fittest first, then keep the head
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+            CerebroGenetico[] keptBrains = new CerebroGenetico[capacity];
+            double[] keptFitness = new double[capacity];
+            long[] keptInsertedAt = new long[capacity];
+            for (int i = 0; i < capacity; i++) {
+                keptBrains[i] = brains[order[i]];
+                keptFitness[i] = fitness[order[i]];
+                keptInsertedAt[i] = insertedAt[order[i]];
+            }
+            brains = keptBrains;
+            fitness = keptFitness;
+            insertedAt = keptInsertedAt;
+            elite = new boolean[capacity];
+            count = capacity;
+            ready = true;
+            return;
+        }
+        elite = new boolean[capacity];
+        int oldCapacity = brains.length;
+        brains = Arrays.copyOf(brains, capacity);
+        fitness = Arrays.copyOf(fitness, capacity);
+        insertedAt = Arrays.copyOf(insertedAt, capacity);
+        for (int i = oldCapacity; i < capacity; i++) brains[i] = CerebroGenetico.vazio();
+    }
+
+    /**
+     * Adds a copy of {@code brain} if there is room, otherwise lets it replace an entry chosen by
+     * {@code replacement}. With WORST the newcomer must beat the least fit entry; with OLDEST it
+     * replaces the oldest entry outside the {@code eliteCount} fittest.
+     */
+    void offer(CerebroGenetico brain, double brainFitness, TrainingSession.Replacement replacement, int eliteCount) {
+        int slot;
+        if (!isFull()) {
+            slot = count++;
+        } else if (replacement == TrainingSession.Replacement.WORST) {
+            slot = worst();
+            if (brainFitness <= fitness[slot]) return;
+        } else {
+            slot = oldestOutsideElite(eliteCount);
+        }
+        brains[slot].copiarDe(brain);
+        fitness[slot] = brainFitness;
+        insertedAt[slot] = insertions++;
+        if (isFull()) ready = true;
+    }
+
+    private int worst() {
+        int worst = 0;
+        for (int i = 1; i < count; i++) {
+            if (fitness[i] < fitness[worst]) worst = i;
+        }
+        return worst;
+    }
+
+    private int oldestOutsideElite(int eliteCount) {
+        // The elite is the eliteCount fittest entries, ties going to the lower index
+        Arrays.fill(elite, 0, count, false);
+        int protectedCount = Math.min(eliteCount, count - 1);
+        for (int e = 0; e < protectedCount; e++) {
+            int best = -1;
+            for (int i = 0; i < count; i++) {
+                if (!elite[i] && (best < 0 || fitness[i] > fitness[best])) best = i;
+            }
+            elite[best] = true;
+        }
+        int oldest = -1;
+        for (int i = 0; i < count; i++) {
+            if (!elite[i] && (oldest < 0 || insertedAt[i] < insertedAt[oldest])) oldest = i;
+        }
+        return oldest;
+    }
+
+    /**
+     * Tournament of three among the evaluated entries, like the generational selection.
+     */
+    CerebroGenetico select(SplittableRandom random) {
+        int best = random.nextInt(count);
+        int c2 = random.nextInt(count);
+        int c3 = random.nextInt(count);
+        if (fitness[c2] > fitness[best]) best = c2;
+        if (fitness[c3] > fitness[best]) best = c3;
+        return brains[best];
+    }
+
+    double bestFitness() {
+        double best = 0;
+        for (int i = 0; i < count; i++) best = Math.max(best, fitness[i]);
+        return best;
+    }
+}
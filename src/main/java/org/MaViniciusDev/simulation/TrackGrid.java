@@ -0,0 +1,147 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * Immutable occupancy grid of a track: one bit per cell (1 = wall) in a flat {@code long[]},
+ * plus the pixel size of a cell. The map is surrounded by a ring of wall cells, so a probe that
+ * steps one cell off the map reads a wall without a separate bounds check.
+ */
+public final class TrackGrid {
+    /** Returned by {@link #firstContact} when a segment crosses no wall cell. */
+    public static final double NO_CONTACT = Double.POSITIVE_INFINITY;
+
+    // Wall cells added on every side of the map
+    private static final int PADDING = 1;
+
+    private final int largura;
+    private final int altura;
+    private final double cellWidth;
+    private final double cellHeight;
+    // Padded rows of wordsPerRow words; bit (gridX + PADDING) of padded row (gridY + PADDING)
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    private TrackGrid(int largura, int altura, double cellWidth, double cellHeight, int wordsPerRow, long[] bits) {
+        this.largura = largura;
+        this.altura = altura;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.wordsPerRow = wordsPerRow;
+        this.bits = bits;
+    }
+
+    /**
+     * Packs an editor map ({@code mapa[y][x] == 1} for walls) of {@code largura} x {@code altura} cells.
+     */
+    public static TrackGrid fromMatrix(int[][] mapa, int largura, int altura, double cellWidth, double cellHeight) {
+        if (largura <= 0 || altura <= 0) {
+            throw new IllegalArgumentException("Grid must have at least one cell: " + largura + "x" + altura);
+        }
+        int wordsPerRow = (largura + 2 * PADDING + 63) >>> 6;
+        long[] bits = new long[(altura + 2 * PADDING) * wordsPerRow];
+        for (int py = 0; py < altura + 2 * PADDING; py++) {
+            for (int px = 0; px < largura + 2 * PADDING; px++) {
+                int x = px - PADDING;
+                int y = py - PADDING;
+                boolean wall = x < 0 || y < 0 || x >= largura || y >= altura || mapa[y][x] == 1;
+                if (wall) bits[py * wordsPerRow + (px >>> 6)] |= 1L << px;
+            }
+        }
+        return new TrackGrid(largura, altura, cellWidth, cellHeight, wordsPerRow, bits);
+    }
+
+    /**
+     * Whether cell (gridX, gridY) is a wall; anything outside the map is.
+     */
+    public boolean isWall(int gridX, int gridY) {
+        int px = gridX + PADDING;
+        int py = gridY + PADDING;
+        // Cells within the padding need no check; one sign test catches anything further out
+        if ((px | py | (largura + 2 * PADDING - 1 - px) | (altura + 2 * PADDING - 1 - py)) < 0) return true;
+        return (bits[py * wordsPerRow + (px >>> 6)] & (1L << px)) != 0;
+    }
+
+    /**
+     * Word {@code word} of row {@code gridY}: bit b is the cell at {@code gridX = word * 64 + b - 1}
+     * (the first bit of a row is the left padding wall). Rows -1 and {@code altura} are all wall.
+     */
+    public long rowWord(int gridY, int word) {
+        return bits[(gridY + PADDING) * wordsPerRow + word];
+    }
+
+    /**
+     * First wall column at or after {@code fromX} in row {@code gridY}, scanning 64 cells per word;
+     * {@code getWidth()} if the rest of the row is open (the right padding wall).
+     */
+    public int nextWall(int gridY, int fromX) {
+        return Math.min(largura, scan(gridY, fromX, 0L));
+    }
+
+    /**
+     * First open column at or after {@code fromX} in row {@code gridY}, or {@code getWidth()} if none.
+     */
+    public int nextOpen(int gridY, int fromX) {
+        return Math.min(largura, scan(gridY, fromX, -1L));
+    }
+
+    /**
+     * Walks the segment (x0, y0) -> (x1, y1), in pixels, cell by cell and returns the fraction
+     * t in [0, 1] at which it first enters a wall cell (0 if it starts in one), or
+     * {@link #NO_CONTACT} if every cell it crosses is open. Cells are taken by floor.
+     */
+    public double firstContact(double x0, double y0, double x1, double y1) {
+        double gx = x0 / cellWidth;
+        double gy = y0 / cellHeight;
+        int cellX = (int) Math.floor(gx);
+        int cellY = (int) Math.floor(gy);
+        if (isWall(cellX, cellY)) return 0.0;
+
+        int endX = (int) Math.floor(x1 / cellWidth);
+        int endY = (int) Math.floor(y1 / cellHeight);
+        // Segment length in cells; t runs from 0 to 1 along it
+        double dx = x1 / cellWidth - gx;
+        double dy = y1 / cellHeight - gy;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        double tDeltaY = dy != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        double tMaxX = dx > 0 ? (cellX + 1 - gx) * tDeltaX : dx < 0 ? (gx - cellX) * tDeltaX : Double.POSITIVE_INFINITY;
+        double tMaxY = dy > 0 ? (cellY + 1 - gy) * tDeltaY : dy < 0 ? (gy - cellY) * tDeltaY : Double.POSITIVE_INFINITY;
+
+        while (cellX != endX || cellY != endY) {
+            double t;
+            if (tMaxX < tMaxY) {
+                t = tMaxX;
+                tMaxX += tDeltaX;
+                cellX += stepX;
+            } else {
+                t = tMaxY;
+                tMaxY += tDeltaY;
+                cellY += stepY;
+            }
+            // Rounding can leave the end cell one boundary away; never report past the segment
+            if (t > 1.0) return isWall(endX, endY) ? 1.0 : NO_CONTACT;
+            if (isWall(cellX, cellY)) return t;
+        }
+        return NO_CONTACT;
+    }
+
+    // First column whose bit differs from the pattern (0 = find a wall, -1 = find an open cell)
+    private int scan(int gridY, int fromX, long pattern) {
+        int rowStart = (gridY + PADDING) * wordsPerRow;
+        int bit = fromX + PADDING;
+        int word = bit >>> 6;
+        if (word >= wordsPerRow) return largura;
+        long w = (bits[rowStart + word] ^ pattern) & (-1L << bit);
+        while (w == 0) {
+            if (++word == wordsPerRow) return largura;
+            w = bits[rowStart + word] ^ pattern;
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(w) - PADDING;
+    }
+
+    public int getWordsPerRow() { return wordsPerRow; }
+    public int getWidth() { return largura; }
+    public int getHeight() { return altura; }
+    public double getCellWidth() { return cellWidth; }
+    public double getCellHeight() { return cellHeight; }
+}
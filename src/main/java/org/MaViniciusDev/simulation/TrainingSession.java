@@ -0,0 +1,453 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+import org.MaViniciusDev.simulation.RandomStreams.Operator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Genetic training loop independent of any rendering: advances the current {@link Population}
+ * in fixed timesteps and breeds the next generation as soon as every car is dead, or, in
+ * {@link EvolutionMode#STEADY_STATE steady-state} mode, refills each car's slot as soon as it dies.
+ * The population can also be split into islands that evolve on their own and trade their best genomes.
+ * The caller decides how many ticks to run per rendered frame (or runs them with no rendering at all).
+ * All randomness comes from {@link RandomStreams} derived from the run seed, so a seed and a map
+ * reproduce the same evolution whatever the thread count.
+ */
+public class TrainingSession implements AutoCloseable {
+
+    public enum EvolutionMode {
+        /** Breed a whole new population once every car has died. */
+        GENERATIONAL,
+        /** Replace each dead car right away with a child of the evaluated pool. */
+        STEADY_STATE
+    }
+
+    /** Which pool entry a newly evaluated car replaces in steady-state mode (never one of the elite). */
+    public enum Replacement { WORST, OLDEST }
+
+    /** Which islands send their top genomes to an island at migration time. */
+    public enum Topology {
+        /** Island k receives from island k - 1. */
+        RING,
+        /** Every island receives from all the others. */
+        FULL
+    }
+
+    // Fixed simulation timestep; speed-ups run more ticks, never larger ones
+    public static final double FIXED_DT = 1.0 / 60.0;
+
+    public static final int LAPS_TO_WIN = 3;
+    // Best cars copied unchanged into the first ELITE_COUNT ids of the next generation (of each island)
+    public static final int ELITE_COUNT = 2;
+    private static final int GENERATIONS_WITHOUT_IMPROVEMENT_THRESHOLD = 5;
+    private static final double MUTATION_BOOST_RATE = 0.20;
+    // Top genomes an island sends at each migration; they replace the receiver's last children
+    public static final int MIGRANTS = 2;
+
+    // Builds a population on the session's track for the given brains
+    private final Function<CerebroGenetico[], Population> populationFactory;
+    private final RandomStreams streams;
+
+    private int targetPopulation;
+    private double mutationRate = 0.05;
+    private PopulationStepper stepper;
+    private EvolutionMode evolutionMode = EvolutionMode.GENERATIONAL;
+    private Replacement replacement = Replacement.WORST;
+
+    // --- STEADY STATE ---
+    private SteadyStatePool pool;
+    // Children bred so far; numbers their random streams (RandomStreams.birthStream)
+    private int births = 0;
+    // Cars evaluated since the last generation boundary, and how many of them were culled by each rule
+    private int evaluations = 0;
+    private final int[] culledThisGeneration = new int[CullingPolicy.Rule.values().length];
+
+    // --- ISLANDS ---
+    // Island k is cars [k * islandSize, (k + 1) * islandSize); with one island it is the whole population
+    private final int islands;
+    private final int islandSize;
+    private int migrationInterval = 5;
+    private Topology topology = Topology.RING;
+    // Copies of each island's top genomes from its last generation, read by its neighbours
+    private final CerebroGenetico[][] emigrants;
+    private final boolean[] hasEmigrants;
+    // Per island: generation, best fitness so far and generations without improving it
+    private final int[] generation;
+    private final double[] bestFitnessHistory;
+    private final int[] generationsWithoutImprovement;
+
+    private Population population;
+    // Brains of the previous generation, overwritten with the next one's genes and then swapped in
+    private CerebroGenetico[] spareBrains = new CerebroGenetico[0];
+    private FrameStats lastStats;
+    private boolean won = false;
+    private double simulatedTime = 0;
+
+    public TrainingSession(Function<CerebroGenetico[], Population> populationFactory, int initialPopulation,
+                           int threads, long seed) {
+        this(populationFactory, initialPopulation, 1, threads, seed);
+    }
+
+    /**
+     * Island model: {@code islands} subpopulations of {@code islandSize} cars, stepped together as one
+     * population but each with its own generations, random streams and mutation boost. Every
+     * {@link #setMigration migration interval} generations, an island replaces its last children with
+     * the top genomes of its neighbours. Islands are a generational scheme, and their size is fixed
+     * for the session.
+     */
+    public TrainingSession(Function<CerebroGenetico[], Population> populationFactory, int islandSize, int islands,
+                           int threads, long seed) {
+        if (islands < 1) throw new IllegalArgumentException("Need at least one island: " + islands);
+        if (islands > 1 && islandSize <= ELITE_COUNT) {
+            throw new IllegalArgumentException("Islands need more than " + ELITE_COUNT + " cars: " + islandSize);
+        }
+        this.populationFactory = populationFactory;
+        this.streams = new RandomStreams(seed);
+        this.targetPopulation = islandSize;
+        this.stepper = new PopulationStepper(threads);
+
+        this.islands = islands;
+        this.islandSize = islandSize;
+        this.emigrants = new CerebroGenetico[islands][MIGRANTS];
+        for (CerebroGenetico[] sent : emigrants) {
+            for (int e = 0; e < MIGRANTS; e++) sent[e] = CerebroGenetico.vazio();
+        }
+        this.hasEmigrants = new boolean[islands];
+        this.generation = new int[islands];
+        Arrays.fill(generation, 1);
+        this.bestFitnessHistory = new double[islands];
+        this.generationsWithoutImprovement = new int[islands];
+
+        CerebroGenetico[] brains = new CerebroGenetico[islandSize * islands];
+        for (int i = 0; i < brains.length; i++) {
+            brains[i] = new CerebroGenetico(streams.stream(0, Operator.INITIALIZATION, i));
+        }
+        startGeneration(brains);
+    }
+
+    /**
+     * Runs one {@link #FIXED_DT} step, evolving to the next generation when the last car dies.
+     * Does nothing once a car has completed {@link #LAPS_TO_WIN} laps.
+     */
+    public FrameStats tick() {
+        if (won) return lastStats;
+
+        lastStats = stepper.step(population, FIXED_DT);
+        simulatedTime += FIXED_DT;
+
+        if (lastStats.maxLaps() >= LAPS_TO_WIN) {
+            won = true;
+        } else if (evolutionMode == EvolutionMode.STEADY_STATE) {
+            replaceDeadCars();
+        } else if (islands > 1) {
+            evolveFinishedIslands();
+        } else if (lastStats.alive() == 0) {
+            evolveNextGeneration();
+        }
+        return lastStats;
+    }
+
+    private void startGeneration(CerebroGenetico[] brains) {
+        // Same size: restart the cars in place; the population is only rebuilt when the size changes
+        if (population != null && population.size() == brains.length) {
+            population.reset(brains);
+        } else {
+            population = populationFactory.apply(brains);
+        }
+        lastStats = new FrameStats(brains.length, 0, -1, 0);
+    }
+
+    /**
+     * Returns the spare brains resized to {@code size}, keeping the existing objects.
+     */
+    private CerebroGenetico[] spareBrains(int size) {
+        if (spareBrains.length != size) {
+            CerebroGenetico[] resized = Arrays.copyOf(spareBrains, size);
+            for (int i = spareBrains.length; i < size; i++) resized[i] = CerebroGenetico.vazio();
+            spareBrains = resized;
+        }
+        return spareBrains;
+    }
+
+    /**
+     * Evolves the population to the next generation.
+     */
+    private void evolveNextGeneration() {
+        int size = population.size();
+        Integer[] ranking = rank(0, size);
+        double bestFitness = population.getFitness(ranking[0]);
+
+        recordGeneration(0, bestFitness, population.getCulledCount(CullingPolicy.Rule.STALLED),
+                population.getCulledCount(CullingPolicy.Rule.WRONG_WAY));
+
+        // Genes are written into the previous generation's brains; the current ones are still the parents
+        CerebroGenetico[] newBrains = spareBrains(Math.max(ELITE_COUNT, targetPopulation));
+        breed(ranking, 0, size, newBrains, newBrains.length, generation[0], effectiveMutationRate(0));
+
+        spareBrains = population.getBrains();
+        startGeneration(newBrains);
+        generation[0]++;
+    }
+
+    /**
+     * Writes the next generation of the cars {@code [from, to)} into {@code children[from .. from + count)}:
+     * the elites first, then tournament children. Each child slot draws from its own streams.
+     */
+    private void breed(Integer[] ranking, int from, int to, CerebroGenetico[] children, int count,
+                       int generation, double mutationRate) {
+        // Elitism: the best cars carry over unchanged into the first slots
+        for (int i = 0; i < ELITE_COUNT; i++) {
+            children[from + i].copiarDe(population.getBrain(ranking[i]));
+        }
+
+        for (int i = from + ELITE_COUNT; i < from + count; i++) {
+            SplittableRandom selection = streams.stream(generation, Operator.SELECTION, i);
+            CerebroGenetico parent1 = tournamentSelection(selection, from, to);
+            CerebroGenetico parent2 = tournamentSelection(selection, from, to);
+            CerebroGenetico.cruzar(parent1, parent2, children[i], streams.stream(generation, Operator.CROSSOVER, i));
+            children[i].mutar(mutationRate, streams.stream(generation, Operator.MUTATION, i));
+        }
+    }
+
+    // Car ids of [from, to), fittest first
+    private Integer[] rank(int from, int to) {
+        Integer[] ranking = new Integer[to - from];
+        for (int i = 0; i < ranking.length; i++) ranking[i] = from + i;
+        Arrays.sort(ranking, (c1, c2) -> Double.compare(population.getFitness(c2), population.getFitness(c1)));
+        return ranking;
+    }
+
+    // --- ISLANDS ---
+
+    /**
+     * Evolves every island whose cars are all dead, in island order, leaving the others running.
+     */
+    private void evolveFinishedIslands() {
+        for (int k = 0; k < islands; k++) {
+            int from = k * islandSize;
+            boolean finished = true;
+            for (int i = from; i < from + islandSize && finished; i++) finished = !population.isAlive(i);
+            if (finished) evolveIsland(k);
+        }
+    }
+
+    private void evolveIsland(int k) {
+        int from = k * islandSize;
+        int to = from + islandSize;
+        Integer[] ranking = rank(from, to);
+        recordGeneration(k, population.getFitness(ranking[0]),
+                population.getCulledCount(CullingPolicy.Rule.STALLED, from, to),
+                population.getCulledCount(CullingPolicy.Rule.WRONG_WAY, from, to));
+
+        CerebroGenetico[] children = spareBrains(population.size());
+        breed(ranking, from, to, children, islandSize, generation[k], effectiveMutationRate(k));
+        if (generation[k] % migrationInterval == 0) immigrate(k, children, from, to);
+
+        // This generation's best, for the neighbours' next migrations
+        for (int e = 0; e < MIGRANTS; e++) emigrants[k][e].copiarDe(population.getBrain(ranking[e]));
+        hasEmigrants[k] = true;
+
+        // Only this island restarts; the previous brains become its spares
+        for (int i = from; i < to; i++) {
+            CerebroGenetico parent = population.getBrain(i);
+            population.respawn(i, children[i]);
+            children[i] = parent;
+        }
+        generation[k]++;
+    }
+
+    /**
+     * Overwrites island {@code k}'s last children with the top genomes of the islands it receives from,
+     * never touching its elites.
+     */
+    private void immigrate(int k, CerebroGenetico[] children, int from, int to) {
+        int slot = to - 1;
+        for (int offset = 1; offset < islands; offset++) {
+            int source = (k - offset + islands) % islands;
+            if (hasEmigrants[source]) {
+                for (int e = 0; e < MIGRANTS && slot >= from + ELITE_COUNT; e++) {
+                    children[slot--].copiarDe(emigrants[source][e]);
+                }
+            }
+            if (topology == Topology.RING) break;
+        }
+    }
+
+    /**
+     * Logs a finished generation of island {@code k} and tracks its stagnation for the mutation boost.
+     */
+    private void recordGeneration(int k, double bestFitness, int culledStalled, int culledWrongWay) {
+        System.out.println((islands > 1 ? "Island " + (k + 1) + " | " : "")
+                + "Gen " + generation[k] + " | Best Fit: " + (int) bestFitness + " | Mutation: " + (int) (mutationRate * 100) + "%"
+                + " | Culled: " + culledStalled + " stalled, " + culledWrongWay + " wrong way");
+
+        if (bestFitness > bestFitnessHistory[k]) {
+            bestFitnessHistory[k] = bestFitness;
+            generationsWithoutImprovement[k] = 0;
+        } else {
+            generationsWithoutImprovement[k]++;
+        }
+        if (effectiveMutationRate(k) != mutationRate) {
+            System.out.println(">> Auto-Boost Mutation!");
+        }
+    }
+
+    private double effectiveMutationRate(int k) {
+        if (generationsWithoutImprovement[k] > GENERATIONS_WITHOUT_IMPROVEMENT_THRESHOLD && mutationRate < MUTATION_BOOST_RATE) {
+            return MUTATION_BOOST_RATE;
+        }
+        return mutationRate;
+    }
+
+    /**
+     * Steady-state step: every car that died in this tick hands a copy of its genome to the pool and
+     * is put back on the start line with a child bred from the pool (a random genome until the pool
+     * has been filled once). Each population-size evaluations count as one generation.
+     */
+    private void replaceDeadCars() {
+        int size = population.size();
+        for (int i = 0; i < size; i++) {
+            if (population.isAlive(i)) continue;
+
+            CerebroGenetico brain = population.getBrain(i);
+            pool.offer(brain, population.getFitness(i), replacement, ELITE_COUNT);
+            CullingPolicy.Rule rule = population.getCullRule(i);
+            if (rule != null) culledThisGeneration[rule.ordinal()]++;
+
+            // The pool kept its own copy, so the child is written over the dead car's genome
+            breedFromPool(brain, i);
+            population.respawn(i, brain);
+
+            if (++evaluations >= size && endSteadyStateGeneration()) return;
+        }
+    }
+
+    private void breedFromPool(CerebroGenetico child, int slot) {
+        int birth = births++;
+        if (!pool.isReady()) {
+            child.randomizar(streams.birthStream(birth, Operator.INITIALIZATION, slot));
+            return;
+        }
+        SplittableRandom selection = streams.birthStream(birth, Operator.SELECTION, slot);
+        CerebroGenetico parent1 = pool.select(selection);
+        CerebroGenetico parent2 = pool.select(selection);
+        CerebroGenetico.cruzar(parent1, parent2, child, streams.birthStream(birth, Operator.CROSSOVER, slot));
+        child.mutar(effectiveMutationRate(0), streams.birthStream(birth, Operator.MUTATION, slot));
+    }
+
+    /**
+     * Closes a steady-state generation. A new target size is applied here by restarting every car
+     * with children of the pool; returns whether that happened.
+     */
+    private boolean endSteadyStateGeneration() {
+        recordGeneration(0, pool.bestFitness(), culledThisGeneration[CullingPolicy.Rule.STALLED.ordinal()],
+                culledThisGeneration[CullingPolicy.Rule.WRONG_WAY.ordinal()]);
+        evaluations = 0;
+        Arrays.fill(culledThisGeneration, 0);
+        generation[0]++;
+
+        int size = Math.max(ELITE_COUNT, targetPopulation);
+        if (size == population.size()) return false;
+        pool.resize(size);
+        CerebroGenetico[] newBrains = spareBrains(size);
+        for (int i = 0; i < size; i++) breedFromPool(newBrains[i], i);
+        spareBrains = population.getBrains();
+        startGeneration(newBrains);
+        return true;
+    }
+
+    /**
+     * Performs tournament selection among the cars {@code [from, to)} to choose a parent brain.
+     */
+    private CerebroGenetico tournamentSelection(SplittableRandom random, int from, int to) {
+        int size = to - from;
+        int best = from + random.nextInt(size);
+        int c2 = from + random.nextInt(size);
+        int c3 = from + random.nextInt(size);
+        if (population.getFitness(c2) > population.getFitness(best)) best = c2;
+        if (population.getFitness(c3) > population.getFitness(best)) best = c3;
+        return population.getBrain(best);
+    }
+
+    // --- SETTINGS (applied between ticks) ---
+
+    /**
+     * Size of the next generation; ignored with more than one island, whose size is fixed for the session.
+     */
+    public void setTargetPopulation(int targetPopulation) { this.targetPopulation = targetPopulation; }
+
+    public void setMutationRate(double mutationRate) { this.mutationRate = mutationRate; }
+
+    public void setThreads(int threads) {
+        if (threads == stepper.getThreads()) return;
+        stepper.close();
+        stepper = new PopulationStepper(threads);
+    }
+
+    /**
+     * Switches between generational and steady-state evolution. Entering steady state starts an empty
+     * pool, which the cars fill as they die; leaving it lets the running cars finish as a generation.
+     */
+    public void setEvolutionMode(EvolutionMode evolutionMode) {
+        if (evolutionMode == this.evolutionMode) return;
+        if (evolutionMode == EvolutionMode.STEADY_STATE && islands > 1) {
+            throw new IllegalStateException("Steady-state evolution does not support islands");
+        }
+        this.evolutionMode = evolutionMode;
+        if (evolutionMode == EvolutionMode.STEADY_STATE) {
+            pool = new SteadyStatePool(population.size());
+            evaluations = 0;
+            Arrays.fill(culledThisGeneration, 0);
+        } else {
+            pool = null;
+        }
+    }
+
+    public void setReplacement(Replacement replacement) { this.replacement = replacement; }
+
+    /**
+     * Islands receive their neighbours' top genomes every {@code interval} generations over {@code topology}.
+     */
+    public void setMigration(int interval, Topology topology) {
+        if (interval < 1) throw new IllegalArgumentException("Migration interval must be positive: " + interval);
+        this.migrationInterval = interval;
+        this.topology = topology;
+    }
+
+    public void killAll() { population.destroyAll(); }
+
+    // --- ACCESSORS ---
+
+    public Population getPopulation() { return population; }
+    public FrameStats getLastStats() { return lastStats; }
+    /** Generation of the slowest island. */
+    public int getGeneration() { return Arrays.stream(generation).min().getAsInt(); }
+    public long getSeed() { return streams.getSeed(); }
+    public double getMutationRate() { return mutationRate; }
+    public boolean hasWinner() { return won; }
+    public EvolutionMode getEvolutionMode() { return evolutionMode; }
+    public Replacement getReplacement() { return replacement; }
+
+    /**
+     * Cars of the current generation ended early by {@code rule}; in steady-state mode, those evaluated
+     * since the last generation boundary.
+     */
+    public int getCulledCount(CullingPolicy.Rule rule) {
+        if (evolutionMode == EvolutionMode.STEADY_STATE) return culledThisGeneration[rule.ordinal()];
+        return population.getCulledCount(rule);
+    }
+
+    public double getSimulatedTime() { return simulatedTime; }
+
+    public int getIslandCount() { return islands; }
+    public int getIslandSize() { return islands > 1 ? islandSize : population.size(); }
+    public int getIslandGeneration(int k) { return generation[k]; }
+
+    @Override
+    public void close() {
+        stepper.close();
+    }
+}
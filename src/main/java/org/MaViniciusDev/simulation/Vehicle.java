@@ -0,0 +1,164 @@
+package org.MaViniciusDev.simulation;
+
+/**
+ * State, physics and collision of a single car, with no JavaFX dependency.
+ * {@code view.Carro} renders it and syncs its node from this state once per frame.
+ */
+public class Vehicle {
+    // Física
+    private static final double ACCELERATION = 200.0;
+    private static final double BRAKING_FORCE = 300.0;
+    private static final double MAX_FORWARD_SPEED = 350.0;
+    private static final double MAX_REVERSE_SPEED = -100.0;
+    private static final double DRAG = 50.0;
+
+    private double x, y;
+    // Valores iniciais padrão, ajustados pela view conforme a imagem do carro
+    private double width = 20;
+    private double height = 10;
+    // Retângulo de colisão alinhado ao ângulo: comprimento ao longo da direção, largura através dela
+    private double footprintLength = 20;
+    private double footprintWidth = 10;
+    private double speed = 0;
+    private double angle = 0;
+
+    private final TrackGrid grid;
+    private CollisionMode collisionMode = CollisionMode.CENTER;
+
+    // Controle
+    private double throttleInput = 0;
+    private boolean braking = false;
+    private boolean destroyed = false;
+
+    // Sensores
+    private final SensorArray sensors;
+
+    public Vehicle(double startX, double startY, TrackGrid grid) {
+        this.x = startX;
+        this.y = startY;
+        this.grid = grid;
+        this.sensors = new SensorArray(grid);
+    }
+
+    public void setCollisionMode(CollisionMode collisionMode) {
+        this.collisionMode = collisionMode;
+    }
+
+    /**
+     * Box of the car before rotation. The footprint follows it with the heading along the width;
+     * call {@link #setFootprint} afterwards when the sprite points elsewhere.
+     */
+    public void setSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+        this.footprintLength = width;
+        this.footprintWidth = height;
+    }
+
+    /**
+     * Rectangle used by {@link CollisionMode#SWEPT_FOOTPRINT}: {@code length} along the heading,
+     * {@code width} across it.
+     */
+    public void setFootprint(double length, double width) {
+        this.footprintLength = length;
+        this.footprintWidth = width;
+    }
+
+    // --- Física e Controle ---
+    public void setAngle(double angle) {
+        this.angle = angle;
+    }
+
+    public void applySteering(double deltaDegrees) {
+        this.angle += deltaDegrees;
+    }
+
+    public void setThrottle(double t) {
+        if (destroyed) return;
+        this.throttleInput = Math.max(-1, Math.min(1, t));
+    }
+
+    public void setBraking(boolean braking) {
+        if (!destroyed) this.braking = braking;
+    }
+
+    public void update(double dt) {
+        if (dt <= 0 || destroyed) return;
+
+        speed = nextSpeed(speed, throttleInput, braking, dt);
+
+        moveOrDestroy(dt);
+        sensors.updateSensors(getCenterX(), getCenterY(), angle);
+    }
+
+    /**
+     * Integrates throttle, braking and drag over {@code dt}. Shared with {@link Population}.
+     */
+    static double nextSpeed(double speed, double throttleInput, boolean braking, double dt) {
+        double accel = 0;
+        if (throttleInput != 0) accel = throttleInput * ACCELERATION;
+
+        if (braking) {
+            if (speed > 0) accel -= BRAKING_FORCE;
+            else if (speed < 0) accel += BRAKING_FORCE;
+        }
+
+        if (speed > 0) accel -= DRAG;
+        else if (speed < 0) accel += DRAG;
+
+        speed += accel * dt;
+
+        if (speed > MAX_FORWARD_SPEED) speed = MAX_FORWARD_SPEED;
+        if (speed < MAX_REVERSE_SPEED) speed = MAX_REVERSE_SPEED;
+        if (Math.abs(speed) < 5 && throttleInput == 0) speed = 0;
+
+        return speed;
+    }
+
+    private void moveOrDestroy(double dt) {
+        double rad = Math.toRadians(angle);
+        double newX = x + speed * Math.cos(rad) * dt;
+        double newY = y + speed * Math.sin(rad) * dt;
+
+        double contact = collisionMode.firstContact(grid, getCenterX(), getCenterY(),
+                newX + width / 2.0, newY + height / 2.0, angle, footprintLength, footprintWidth);
+        if (contact == TrackGrid.NO_CONTACT) {
+            x = newX;
+            y = newY;
+        } else {
+            // Parado no primeiro contato com a parede (no modo CENTER, onde estava)
+            x += (newX - x) * contact;
+            y += (newY - y) * contact;
+            destroy();
+        }
+    }
+
+    public void destroy() {
+        if (destroyed) return;
+        destroyed = true;
+        speed = 0;
+        throttleInput = 0;
+        braking = true;
+    }
+
+    public void revive(double sx, double sy, double sa) {
+        destroyed = false;
+        x = sx; y = sy; angle = sa;
+        speed = 0;
+        throttleInput = 0;
+        braking = false;
+    }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+    public double getFootprintLength() { return footprintLength; }
+    public double getFootprintWidth() { return footprintWidth; }
+    public double getAngle() { return angle; }
+    public double getCenterX() { return x + width / 2; }
+    public double getCenterY() { return y + height / 2; }
+    public double getSpeed() { return speed; }
+    public boolean isDestroyed() { return destroyed; }
+    public SensorArray getSensors() { return sensors; }
+}
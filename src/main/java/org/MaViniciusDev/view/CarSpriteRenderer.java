@@ -0,0 +1,159 @@
+package org.MaViniciusDev.view;
+
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.MaViniciusDev.simulation.FrameSnapshot;
+
+/**
+ * Draws every car of a {@link FrameSnapshot} onto one canvas in a single pass, reading the pose straight
+ * from the snapshot arrays instead of keeping a scene-graph node per car. The car sprite is
+ * rasterized once at its on-screen size, with pre-tinted copies for destroyed and elite cars.
+ * Must be created and used on the FX thread.
+ */
+final class CarSpriteRenderer {
+    // Sprites are rasterized at twice their on-screen size so rotated cars stay smooth
+    private static final double OVERSAMPLE = 2.0;
+    // Same opacity as the AICar nodes
+    private static final double CAR_ALPHA = 0.5;
+    private static final Color ELITE_TINT = Color.GOLD;
+    private static final double ELITE_TINT_AMOUNT = 0.6;
+
+    private final Image sprite;
+    private final Image destroyedSprite;
+    private final Image eliteSprite;
+    // On-screen sprite size, centred on the car centre
+    private final double drawWidth;
+    private final double drawHeight;
+    private final double rotationOffset;
+
+    CarSpriteRenderer(double carWidth, double carHeight) {
+        Image carImage = Carro.getCarImage();
+        if (carImage != null) {
+            // As in Carro: the image fills the car's box and points up, hence the 90° offset
+            drawWidth = carWidth;
+            drawHeight = carHeight;
+            rotationOffset = 90.0;
+            sprite = rasterize(carImage, drawWidth, drawHeight);
+        } else {
+            // Carro's fallback: red body with the wheels sticking out above and below
+            double wheelHeight = carHeight * 0.3;
+            drawWidth = carWidth;
+            drawHeight = carHeight + wheelHeight;
+            rotationOffset = 0.0;
+            sprite = rasterizeFallback(carWidth, carHeight);
+        }
+        destroyedSprite = tint(sprite, false);
+        eliteSprite = tint(sprite, true);
+    }
+
+    /**
+     * Draws the dead cars, then the live ones, then the elites (the first {@code eliteCount} ids of
+     * each island, once that island is past its first generation) and the {@code highlighted} car
+     * (or -1) on top.
+     */
+    void draw(GraphicsContext gc, FrameSnapshot snapshot, int eliteCount, int highlighted) {
+        gc.save();
+        gc.setGlobalAlpha(CAR_ALPHA);
+        int size = snapshot.size();
+        for (int i = 0; i < size; i++) {
+            if (!snapshot.isAlive(i)) drawCar(gc, snapshot, i, destroyedSprite);
+        }
+        for (int i = 0; i < size; i++) {
+            if (snapshot.isAlive(i) && !isElite(snapshot, i, eliteCount) && i != highlighted) drawCar(gc, snapshot, i, sprite);
+        }
+        for (int i = 0; i < size; i++) {
+            if (snapshot.isAlive(i) && isElite(snapshot, i, eliteCount) && i != highlighted) drawCar(gc, snapshot, i, eliteSprite);
+        }
+        if (highlighted >= 0 && snapshot.isAlive(highlighted)) {
+            gc.setGlobalAlpha(1.0);
+            drawCar(gc, snapshot, highlighted, eliteSprite);
+        }
+        gc.restore();
+    }
+
+    // Elites only hold carried-over brains from their island's second generation on
+    private static boolean isElite(FrameSnapshot snapshot, int i, int eliteCount) {
+        int islandSize = Math.max(1, snapshot.getIslandSize());
+        return i % islandSize < eliteCount && snapshot.getIslandGeneration(i / islandSize) > 1;
+    }
+
+    private void drawCar(GraphicsContext gc, FrameSnapshot snapshot, int i, Image image) {
+        double rad = Math.toRadians(snapshot.getAngle(i) + rotationOffset);
+        double cos = Math.cos(rad);
+        double sin = Math.sin(rad);
+        // One transform per car instead of a save/translate/rotate/restore sequence
+        gc.setTransform(cos, sin, -sin, cos, snapshot.getCenterX(i), snapshot.getCenterY(i));
+        gc.drawImage(image, -drawWidth / 2, -drawHeight / 2, drawWidth, drawHeight);
+    }
+
+    // --- SPRITES ---
+
+    private static Image rasterize(Image source, double width, double height) {
+        ImageView view = new ImageView(source);
+        view.setSmooth(true);
+        view.setFitWidth(width * OVERSAMPLE);
+        view.setFitHeight(height * OVERSAMPLE);
+        return snapshot(view);
+    }
+
+    private static Image rasterizeFallback(double width, double height) {
+        double wheelWidth = width * 0.2;
+        double wheelHeight = height * 0.3;
+        Canvas canvas = new Canvas(width * OVERSAMPLE, (height + wheelHeight) * OVERSAMPLE);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.scale(OVERSAMPLE, OVERSAMPLE);
+        g.translate(0, wheelHeight / 2);
+        g.setFill(Color.RED);
+        g.fillRect(0, 0, width, height);
+        g.setStroke(Color.BLACK);
+        g.strokeRect(0, 0, width, height);
+        g.setFill(Color.BLACK);
+        for (double wx : new double[]{width * 0.1, width * 0.7}) {
+            g.fillRect(wx, -wheelHeight / 2, wheelWidth, wheelHeight);
+            g.fillRect(wx, height - wheelHeight / 2, wheelWidth, wheelHeight);
+        }
+        return snapshot(canvas);
+    }
+
+    private static Image snapshot(Node node) {
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        return node.snapshot(params, null);
+    }
+
+    /**
+     * Destroyed: grey and darker, like Carro's ColorAdjust (saturation -1, brightness -0.5).
+     * Elite: blended towards {@link #ELITE_TINT}.
+     */
+    private static Image tint(Image source, boolean elite) {
+        int w = (int) source.getWidth();
+        int h = (int) source.getHeight();
+        PixelReader reader = source.getPixelReader();
+        if (reader == null) return source;
+        WritableImage out = new WritableImage(w, h);
+        PixelWriter writer = out.getPixelWriter();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                Color c = reader.getColor(x, y);
+                Color t;
+                if (elite) {
+                    t = c.interpolate(ELITE_TINT, ELITE_TINT_AMOUNT);
+                    t = new Color(t.getRed(), t.getGreen(), t.getBlue(), c.getOpacity());
+                } else {
+                    double grey = 0.5 * (0.299 * c.getRed() + 0.587 * c.getGreen() + 0.114 * c.getBlue());
+                    t = new Color(grey, grey, grey, c.getOpacity());
+                }
+                writer.setColor(x, y, t);
+            }
+        }
+        return out;
+    }
+}
@@ -7,7 +7,9 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.animation.AnimationTimer;
+import org.MaViniciusDev.simulation.TrackGrid;
+import org.MaViniciusDev.simulation.Vehicle;
+
 import java.io.InputStream;
 
 public class Carro extends Group {
@@ -15,17 +17,9 @@ public class Carro extends Group {
     private static Image CACHED_CAR_IMAGE = null;
     private static Image CACHED_CRASH_IMAGE = null;
 
-    // --- Variáveis PROTECTED ---
-    protected double x, y;
-    // Valores iniciais padrão, serão ajustados pela imagem
-    protected double width = 20;
-    protected double height = 10;
-    protected double speed = 0;
-    protected double angle = 0;
-
-    protected final int[][] mapa;
-    protected final int largura;
-    protected final int altura;
+    // --- Estado da simulação (sem JavaFX) ---
+    protected final Vehicle vehicle;
+
     protected final double cellWidth;
     protected final double cellHeight;
 
@@ -33,37 +27,22 @@ public class Carro extends Group {
     protected Rectangle body;
     protected ImageView carView;
     private Rectangle wheel1, wheel2, wheel3, wheel4;
-    private ImageView crashView;
+    private EffectsManager effects;
     private double rotationOffset = 0;
-
-    // Física
-    private static final double ACCELERATION = 200.0;
-    private static final double BRAKING_FORCE = 300.0;
-    private static final double MAX_FORWARD_SPEED = 350.0;
-    private static final double MAX_REVERSE_SPEED = -100.0;
-    private static final double DRAG = 50.0;
-
-    // Controle
-    private double throttleInput = 0;
-    private boolean braking = false;
-    protected boolean destroyed = false;
+    // Indica se os efeitos de destruição já foram aplicados ao nó
+    private boolean destroyedVisuals = false;
 
     // Sensores
     protected final SensorSystem sensorSystem;
 
-    public Carro(double startX, double startY, int[][] mapa, int largura, int altura, double cellWidth, double cellHeight) {
-        this.x = startX;
-        this.y = startY;
-        this.mapa = mapa;
-        this.largura = largura;
-        this.altura = altura;
-        this.cellWidth = cellWidth;
-        this.cellHeight = cellHeight;
-        this.sensorSystem = new SensorSystem(mapa, largura, altura, cellWidth, cellHeight);
+    public Carro(double startX, double startY, TrackGrid pista) {
+        this.vehicle = new Vehicle(startX, startY, pista);
+        this.cellWidth = pista.getCellWidth();
+        this.cellHeight = pista.getCellHeight();
+        this.sensorSystem = new SensorSystem(vehicle.getSensors());
 
         desenharCarro();
-        setTranslateX(x);
-        setTranslateY(y);
+        syncPose(startX, startY, 0, false);
     }
 
     private void desenharCarro() {
@@ -74,26 +53,26 @@ public class Carro extends Group {
         } else {
             setupFallbackRectangle();
         }
-        setupCrashView();
     }
 
     // --- SISTEMA DE CACHE ---
-    private Image getCarImage() {
+    // Também usado pelo CarSpriteRenderer, que desenha os carros sem um nó por carro
+    static Image getCarImage() {
         if (CACHED_CAR_IMAGE != null) return CACHED_CAR_IMAGE;
         CACHED_CAR_IMAGE = tryLoadImage("car_top.png", "carro_top.png", "car.png");
         return CACHED_CAR_IMAGE;
     }
 
-    private Image getCrashImage() {
+    static Image getCrashImage() {
         if (CACHED_CRASH_IMAGE != null) return CACHED_CRASH_IMAGE;
         CACHED_CRASH_IMAGE = tryLoadImage("explosao.gif", "crash.gif");
         return CACHED_CRASH_IMAGE;
     }
 
-    private Image tryLoadImage(String... candidates) {
+    private static Image tryLoadImage(String... candidates) {
         for (String name : candidates) {
             try {
-                InputStream is = getClass().getResourceAsStream("/images/" + name);
+                InputStream is = Carro.class.getResourceAsStream("/images/" + name);
                 if (is != null) return new Image(is);
             } catch (Exception e) { }
         }
@@ -116,24 +95,26 @@ public class Carro extends Group {
             // Imagem estilo paisagem (larga)
             carView.setFitWidth(targetDimension);
             // Atualiza as dimensões físicas do carro
-            this.width = targetDimension;
-            this.height = imgH * (targetDimension / imgW);
+            vehicle.setSize(targetDimension, imgH * (targetDimension / imgW));
         } else {
             // Imagem estilo retrato (alta) ou quadrada
             carView.setFitHeight(targetDimension);
             // Atualiza as dimensões físicas do carro
-            this.height = targetDimension;
-            this.width = imgW * (targetDimension / imgH);
+            vehicle.setSize(imgW * (targetDimension / imgH), targetDimension);
         }
 
+        // A imagem aponta para cima: ao longo da direção, o carro mede a altura dela
+        vehicle.setFootprint(vehicle.getHeight(), vehicle.getWidth());
+
         rotationOffset = 90.0; // Ajuste se necessário dependendo da sua imagem
         getChildren().add(carView);
     }
 
     private void setupFallbackRectangle() {
         // Atualiza dimensões físicas para o fallback também
-        this.width = Math.min(cellWidth, cellHeight) * 1.5;
-        this.height = this.width * 0.6;
+        double width = Math.min(cellWidth, cellHeight) * 1.5;
+        double height = width * 0.6;
+        vehicle.setSize(width, height);
 
         body = new Rectangle(width, height, Color.RED);
         body.setStroke(Color.BLACK);
@@ -148,91 +129,60 @@ public class Carro extends Group {
         getChildren().addAll(body, wheel1, wheel2, wheel3, wheel4);
     }
 
-    private void setupCrashView() {
-        crashView = new ImageView();
-        crashView.setVisible(false);
-    }
-
-    // --- Física e Controle ---
+    // --- Física e Controle (delegados ao Vehicle) ---
     public void setAngle(double angle) {
-        this.angle = angle;
+        vehicle.setAngle(angle);
         setRotate(angle + rotationOffset);
     }
 
     public void applySteering(double deltaDegrees) {
-        setAngle(this.angle + deltaDegrees);
+        setAngle(vehicle.getAngle() + deltaDegrees);
     }
 
     public void setThrottle(double t) {
-        if (destroyed) return;
-        this.throttleInput = Math.max(-1, Math.min(1, t));
+        vehicle.setThrottle(t);
     }
 
     public void setBraking(boolean braking) {
-        if (!destroyed) this.braking = braking;
+        vehicle.setBraking(braking);
     }
 
+    /**
+     * Avança a simulação e já sincroniza o nó (modo de jogo manual, um passo por frame).
+     */
     public void update(double dt) {
-        if (dt <= 0 || destroyed) return;
-
-        double accel = 0;
-        if (throttleInput != 0) accel = throttleInput * ACCELERATION;
-
-        if (braking) {
-            if (speed > 0) accel -= BRAKING_FORCE;
-            else if (speed < 0) accel += BRAKING_FORCE;
-        }
-
-        if (speed > 0) accel -= DRAG;
-        else if (speed < 0) accel += DRAG;
-
-        speed += accel * dt;
-
-        if (speed > MAX_FORWARD_SPEED) speed = MAX_FORWARD_SPEED;
-        if (speed < MAX_REVERSE_SPEED) speed = MAX_REVERSE_SPEED;
-        if (Math.abs(speed) < 5 && throttleInput == 0) speed = 0;
-
-        moveCarOrDestroy(dt);
-        sensorSystem.updateSensors(getCenterX(), getCenterY(), angle);
+        vehicle.update(dt);
+        syncFromSimulation();
     }
 
-    private void moveCarOrDestroy(double dt) {
-        double rad = Math.toRadians(angle);
-        double newX = x + speed * Math.cos(rad) * dt;
-        double newY = y + speed * Math.sin(rad) * dt;
-
-        if (!collides(newX, newY)) {
-            x = newX;
-            y = newY;
-            setTranslateX(x);
-            setTranslateY(y);
-        } else {
-            destroy();
-        }
+    /**
+     * Copia pose e estado do {@link Vehicle} para o nó JavaFX. Chamado uma vez por frame renderizado.
+     */
+    public void syncFromSimulation() {
+        syncPose(vehicle.getX(), vehicle.getY(), vehicle.getAngle(), vehicle.isDestroyed());
     }
 
-    protected boolean collides(double px, double py) {
-        // Verificação de colisão usando o centro do carro é mais segura
-        double centerX = px + width / 2.0;
-        double centerY = py + height / 2.0;
-
-        int gridX = (int) (centerX / cellWidth);
-        int gridY = (int) (centerY / cellHeight);
+    /**
+     * Aplica uma pose ao nó; subclasses que leem o estado de outra fonte (ex.: {@code Population}) usam este método.
+     */
+    protected void syncPose(double x, double y, double angle, boolean destroyed) {
+        setTranslateX(x);
+        setTranslateY(y);
+        setRotate(angle + rotationOffset);
 
-        if (gridX < 0 || gridX >= largura || gridY < 0 || gridY >= altura) return true;
-        return mapa[gridY][gridX] == 1;
+        if (destroyed && !destroyedVisuals) {
+            destroyedVisuals = true;
+            applyDestroyedVisuals();
+            showCrashGif();
+            setMouseTransparent(true);
+        } else if (!destroyed && destroyedVisuals) {
+            // Carro renascido no lugar (evolução steady-state ou ilha que trocou de geração)
+            resetVisuals();
+        }
     }
 
     public void destroy() {
-        if (destroyed) return;
-        destroyed = true;
-        speed = 0;
-        throttleInput = 0;
-        braking = true;
-
-        applyDestroyedVisuals();
-        showCrashGif();
-        setMouseTransparent(true);
+        vehicle.destroy();
     }
 
     private void applyDestroyedVisuals() {
@@ -247,56 +197,43 @@ public class Carro extends Group {
     }
 
     private void showCrashGif() {
-        Image crashImg = getCrashImage();
-        if (crashImg == null) return;
-
-        // Adiciona a explosão no painel pai para ficar sobre tudo
-        if (getParent() instanceof javafx.scene.layout.Pane parent) {
-            ImageView explosionInstance = new ImageView(crashImg);
-            explosionInstance.setPreserveRatio(true);
-            // Explosão 50% maior que o carro
-            explosionInstance.setFitWidth(Math.max(width, height) * 1.5);
-
-            // Centraliza a explosão na posição atual do carro
-            double currentCenterX = getTranslateX() + width / 2.0;
-            double currentCenterY = getTranslateY() + height / 2.0;
-
-            explosionInstance.setLayoutX(currentCenterX - explosionInstance.getFitWidth() / 2.0);
-            explosionInstance.setLayoutY(currentCenterY - explosionInstance.getBoundsInLocal().getHeight() / 2.0);
-
-            parent.getChildren().add(explosionInstance);
-
-            // Remove após 1.5s
-            new AnimationTimer() {
-                long start = -1;
-                @Override
-                public void handle(long now) {
-                    if (start == -1) start = now;
-                    if (now - start > 1_500_000_000L) {
-                        parent.getChildren().remove(explosionInstance);
-                        this.stop();
-                    }
-                }
-            }.start();
-        }
+        if (effects == null) return;
+        // Explosão centralizada na posição atual do carro
+        effects.spawn(getTranslateX() + vehicle.getWidth() / 2.0, getTranslateY() + vehicle.getHeight() / 2.0,
+                Math.max(vehicle.getWidth(), vehicle.getHeight()));
     }
 
-    public double getX() { return x; }
-    public double getY() { return y; }
-    public double getAngle() { return angle; }
-    public double getCenterX() { return x + width / 2; }
-    public double getCenterY() { return y + height / 2; }
-    public boolean isDestroyed() { return destroyed; }
+    /**
+     * Define onde as explosões deste carro são mostradas; sem gerenciador, a batida não tem efeito visual.
+     */
+    void setEffects(EffectsManager effects) {
+        this.effects = effects;
+    }
+
+    public double getX() { return vehicle.getX(); }
+    public double getY() { return vehicle.getY(); }
+    public double getAngle() { return vehicle.getAngle(); }
+    public double getCenterX() { return vehicle.getCenterX(); }
+    public double getCenterY() { return vehicle.getCenterY(); }
+    public boolean isDestroyed() { return vehicle.isDestroyed(); }
     public SensorSystem getSensorSystem() { return sensorSystem; }
-    public double getSpeed() { return speed; }
+    public double getSpeed() { return vehicle.getSpeed(); }
+    public Vehicle getVehicle() { return vehicle; }
 
     public void revive(double sx, double sy, double sa) {
-        destroyed = false;
-        x = sx; y = sy; angle = sa;
-        speed = 0;
-        setTranslateX(x); setTranslateY(y); setAngle(angle);
+        vehicle.revive(sx, sy, sa);
+        resetVisuals();
+        syncFromSimulation();
         setOpacity(1.0);
+    }
+
+    /**
+     * Desfaz os efeitos de destruição do nó, para reaproveitá-lo com um carro vivo.
+     */
+    protected void resetVisuals() {
+        destroyedVisuals = false;
+        setMouseTransparent(false);
         if (carView != null) carView.setEffect(null);
         if (body != null) body.setFill(Color.RED);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package org.MaViniciusDev.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+
+/**
+ * Crash explosions drawn from a fixed pool of {@link ImageView} slots that are added to the scene once.
+ * Spawning only moves and shows a slot; {@link #update} hides the expired ones from the caller's frame
+ * loop, so a mass-death frame creates no nodes and no timers. When every slot is busy the oldest
+ * explosion is reused.
+ */
+final class EffectsManager {
+    private static final long EFFECT_DURATION_NANOS = 1_500_000_000L;
+    // Explosion width relative to the car's larger side
+    private static final double EFFECT_SCALE = 1.5;
+
+    private final Image image;
+    private final ImageView[] slots;
+    private final long[] expiresAt;
+    private int next = 0;
+    private int active = 0;
+    private boolean enabled = true;
+    private long now = System.nanoTime();
+
+    /**
+     * Adds {@code capacity} hidden slots on top of {@code parent}'s current children.
+     */
+    EffectsManager(Pane parent, int capacity) {
+        image = Carro.getCrashImage();
+        int size = image != null ? capacity : 0;
+        slots = new ImageView[size];
+        expiresAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            ImageView slot = new ImageView(image);
+            slot.setPreserveRatio(true);
+            slot.setVisible(false);
+            slot.setMouseTransparent(true);
+            slots[i] = slot;
+        }
+        parent.getChildren().addAll(slots);
+    }
+
+    /**
+     * Shows an explosion centred on (centerX, centerY) for a car whose larger side is {@code carSize}.
+     */
+    void spawn(double centerX, double centerY, double carSize) {
+        if (!enabled || slots.length == 0) return;
+        int i = next;
+        next = (next + 1) % slots.length;
+        ImageView slot = slots[i];
+        if (!slot.isVisible()) active++;
+
+        double width = carSize * EFFECT_SCALE;
+        double height = width * image.getHeight() / image.getWidth();
+        slot.setFitWidth(width);
+        slot.setLayoutX(centerX - width / 2.0);
+        slot.setLayoutY(centerY - height / 2.0);
+        slot.setVisible(true);
+        expiresAt[i] = now + EFFECT_DURATION_NANOS;
+    }
+
+    /**
+     * Advances the effects to frame time {@code now} (an {@code AnimationTimer} timestamp).
+     */
+    void update(long now) {
+        this.now = now;
+        if (active == 0) return;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].isVisible() && now >= expiresAt[i]) {
+                slots[i].setVisible(false);
+                active--;
+            }
+        }
+    }
+
+    /**
+     * Turning effects off (e.g. in turbo training) hides every explosion and ignores new ones.
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    void clear() {
+        for (ImageView slot : slots) slot.setVisible(false);
+        active = 0;
+    }
+}
@@ -15,6 +15,8 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import java.util.ArrayList;
 import java.util.List;
+import org.MaViniciusDev.simulation.CollisionMode;
+import org.MaViniciusDev.simulation.TrackGrid;
 
 public class Jogo {
     // Classe interna para representar um checkpoint
@@ -30,17 +32,21 @@ public class Jogo {
     }
 
     // Map data
-    private int[][] mapa;
+    private TrackGrid pista;
     private static final int LARGURA = 128;
     private static final int ALTURA = 72;
 
-    // Canvas components
+    // Canvas components: a pista estática fica numa camada própria, redesenhada só no resize;
+    // a camada de cima guarda o que muda a cada frame (sensores)
+    private Canvas trackCanvas;
+    private GraphicsContext trackGc;
     private Canvas canvas;
     private GraphicsContext gc;
     private double cellWidth, cellHeight;
 
     // Game objects
     private Carro carro;
+    private EffectsManager effects;
     private EditorMapa editorMapa;
 
     // Steering physics constants
@@ -67,13 +73,13 @@ public class Jogo {
     private int lastCheckpointPassed = -1;
 
     public void setup(Stage stage, int[][] mapa, Integer inicioX, Integer inicioY, int direcao, EditorMapa editorMapa) {
-        this.mapa = mapa;
         this.editorMapa = editorMapa;
 
         double stageWidth = stage.getWidth();
         double stageHeight = stage.getHeight();
 
         initializeCanvas(stageWidth, stageHeight);
+        this.pista = TrackGrid.fromMatrix(mapa, LARGURA, ALTURA, cellWidth, cellHeight);
 
         // Ajuste de escala para pixels
         this.startX = inicioX * cellWidth;
@@ -83,8 +89,6 @@ public class Jogo {
         calculateStartLine(this.startX, this.startY, angle);
         generateCheckpoints(this.startX, this.startY, angle);
         redesenharMapa();
-        drawStartLine();
-        drawCheckpoints();
 
         initializeCar(this.startX, this.startY, angle);
 
@@ -94,6 +98,8 @@ public class Jogo {
     }
 
     private void initializeCanvas(double width, double height) {
+        trackCanvas = new Canvas(width, height);
+        trackGc = trackCanvas.getGraphicsContext2D();
         canvas = new Canvas(width, height);
         gc = canvas.getGraphicsContext2D();
         cellWidth = canvas.getWidth() / LARGURA;
@@ -145,11 +151,7 @@ public class Jogo {
             int gridX = (int)(testX / cellWidth);
             int gridY = (int)(testY / cellHeight);
 
-            if (gridX < 0 || gridX >= LARGURA || gridY < 0 || gridY >= ALTURA) {
-                return dist - step;
-            }
-
-            if (mapa[gridY][gridX] == 1) {
+            if (pista.isWall(gridX, gridY)) {
                 return dist - step;
             }
         }
@@ -157,9 +159,9 @@ public class Jogo {
     }
 
     private void drawStartLine() {
-        gc.setStroke(Color.LIME);
-        gc.setLineWidth(3);
-        gc.strokeLine(startLineX1, startLineY1, startLineX2, startLineY2);
+        trackGc.setStroke(Color.LIME);
+        trackGc.setLineWidth(3);
+        trackGc.strokeLine(startLineX1, startLineY1, startLineX2, startLineY2);
     }
 
     private void generateCheckpoints(double startX, double startY, double startAngle) {
@@ -171,21 +173,26 @@ public class Jogo {
 
     private void drawCheckpoints() {
         if (checkpoints == null || checkpoints.isEmpty()) return;
-        gc.setStroke(Color.rgb(255, 255, 0, 0.5));
-        gc.setLineWidth(1);
+        trackGc.setStroke(Color.rgb(255, 255, 0, 0.5));
+        trackGc.setLineWidth(1);
         for (Checkpoint cp : checkpoints) {
-            gc.strokeOval(cp.x - cp.radius, cp.y - cp.radius, cp.radius * 2, cp.radius * 2);
+            trackGc.strokeOval(cp.x - cp.radius, cp.y - cp.radius, cp.radius * 2, cp.radius * 2);
         }
     }
 
     private void initializeCar(double startX, double startY, int angle) {
-        carro = new Carro(startX, startY, mapa, LARGURA, ALTURA, cellWidth, cellHeight);
+        carro = new Carro(startX, startY, pista);
         carro.setAngle(angle);
+        // O dt do jogo manual chega a 0.1 s (35 px): varre o caminho para não atravessar paredes finas
+        carro.getVehicle().setCollisionMode(CollisionMode.SWEPT);
     }
 
     private Scene createGameScene(double startX, double startY, int angle, double width, double height) {
         Pane root = new Pane();
-        root.getChildren().addAll(canvas, carro);
+        root.getChildren().addAll(trackCanvas, canvas, carro);
+        // Poucos slots bastam: só há um carro
+        effects = new EffectsManager(root, 4);
+        carro.setEffects(effects);
         root.setStyle("-fx-background-color: black;");
 
         Scene scene = new Scene(root, width, height);
@@ -196,11 +203,13 @@ public class Jogo {
 
         // Listeners de resize
         scene.widthProperty().addListener((_, _, newVal) -> {
+            trackCanvas.setWidth(newVal.doubleValue());
             canvas.setWidth(newVal.doubleValue());
             cellWidth = canvas.getWidth() / LARGURA;
             redesenharMapa();
         });
         scene.heightProperty().addListener((_, _, newVal) -> {
+            trackCanvas.setHeight(newVal.doubleValue());
             canvas.setHeight(newVal.doubleValue());
             cellHeight = canvas.getHeight() / ALTURA;
             redesenharMapa();
@@ -285,12 +294,12 @@ public class Jogo {
 
                 processInputs(up[0], down[0], left[0], right[0], brake[0], dt);
                 carro.update(dt);
+                effects.update(now);
 
                 checkLineCrossing();
 
-                redesenharMapa();
-                drawStartLine();
-                drawCheckpoints();
+                // A pista já está na camada estática: só a camada dinâmica é limpa
+                gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
                 // Desenhar sensores
                 carro.getSensorSystem().drawSensors(gc, carro.getCenterX(), carro.getCenterY(), carro.getAngle());
@@ -324,17 +333,16 @@ public class Jogo {
         }
     }
 
+    /**
+     * Redesenha a camada estática (pista, linha de largada e checkpoints). Chamado na montagem e no resize.
+     */
     private void redesenharMapa() {
-        gc.setFill(Color.BLACK);
-        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-        for (int y = 0; y < ALTURA; y++) {
-            for (int x = 0; x < LARGURA; x++) {
-                if (mapa[y][x] == 0) {
-                    gc.setFill(Color.WHITE);
-                    gc.fillRect(x * cellWidth, y * cellHeight, cellWidth, cellHeight);
-                }
-            }
-        }
+        trackGc.setFill(Color.BLACK);
+        trackGc.fillRect(0, 0, trackCanvas.getWidth(), trackCanvas.getHeight());
+        trackGc.setFill(Color.WHITE);
+        TrackPainter.fillOpenCells(trackGc, pista, cellWidth, cellHeight);
+        drawStartLine();
+        drawCheckpoints();
     }
 
     private void checkLineCrossing() {
@@ -0,0 +1,29 @@
+package org.MaViniciusDev.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import org.MaViniciusDev.simulation.TrackGrid;
+
+/**
+ * Draws the open cells of a {@link TrackGrid}, one rectangle per horizontal run of open cells
+ * instead of one per cell.
+ */
+final class TrackPainter {
+
+    private TrackPainter() {
+    }
+
+    /**
+     * Fills every open cell with the current fill of {@code gc}, using the given on-screen cell size.
+     */
+    static void fillOpenCells(GraphicsContext gc, TrackGrid grid, double cellWidth, double cellHeight) {
+        int width = grid.getWidth();
+        for (int y = 0; y < grid.getHeight(); y++) {
+            int x = grid.nextOpen(y, 0);
+            while (x < width) {
+                int end = grid.nextWall(y, x);
+                gc.fillRect(x * cellWidth, y * cellHeight, (end - x) * cellWidth, cellHeight);
+                x = grid.nextOpen(y, end);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.MaViniciusDev.view;
 
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,6 +13,17 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import org.MaViniciusDev.ia.CerebroGenetico;
+import org.MaViniciusDev.ia.LoteFuzzy;
+import org.MaViniciusDev.simulation.CollisionMode;
+import org.MaViniciusDev.simulation.CullingPolicy;
+import org.MaViniciusDev.simulation.FrameSnapshot;
+import org.MaViniciusDev.simulation.FrameStats;
+import org.MaViniciusDev.simulation.Population;
+import org.MaViniciusDev.simulation.ProgressField;
+import org.MaViniciusDev.simulation.RayCaster;
+import org.MaViniciusDev.simulation.SimulationRunner;
+import org.MaViniciusDev.simulation.TrackGrid;
+import org.MaViniciusDev.simulation.TrainingSession;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,62 +39,98 @@ public class TreinamentoIA {
     private double currentMutationRate = 0.05;
     private double timeScale = 1.0;
     private boolean showSensors = false;
+    private int simulationThreads = Runtime.getRuntime().availableProcessors();
+    private boolean turboMode = false;
+    private boolean renderEnabled = true;
+    // Draw all cars onto the overlay canvas instead of one scene-graph node per car
+    private boolean batchedRendering = true;
+    private CarSpriteRenderer spriteRenderer;
+    private RayCaster.Mode sensorMode = RayCaster.Mode.DDA;
+    // Read by createPopulation on the simulation thread
+    private volatile boolean batchInference = false;
+    private volatile CollisionMode collisionMode = CollisionMode.CENTER;
+    private volatile CullingPolicy cullingPolicy = CullingPolicy.DEFAULT;
+    private TrainingSession.EvolutionMode evolutionMode = TrainingSession.EvolutionMode.GENERATIONAL;
+    private TrainingSession.Replacement replacement = TrainingSession.Replacement.WORST;
+    // Island model: the population slider sets the size of each island
+    private int islands = 1;
+    private int migrationInterval = 5;
+    private TrainingSession.Topology topology = TrainingSession.Topology.RING;
+    private long seed = System.nanoTime();
 
     // --- CONFIGURATION CONSTANTS ---
     private static final int GRID_WIDTH = 128;
     private static final int GRID_HEIGHT = 72;
     private static final double CANVAS_WIDTH = 1280.0;
     private static final double CANVAS_HEIGHT = 720.0;
-    private static final double MIN_DISTANCE_FROM_START = 100.0;
-    private static final double INITIAL_TIME_REMAINING = 6.0;
-    private static final double TIME_BONUS_PER_CHECKPOINT = 4.0;
-    private static final double MAX_TIME_REMAINING = 15.0;
-    private static final double FITNESS_PER_CHECKPOINT = 1000.0;
-    private static final double FITNESS_PER_LAP = 5000.0;
-    private static final double SLOWNESS_PENALTY_FACTOR = 2.0;
-    private static final int LAPS_TO_WIN = 3;
-    private static final int GENERATIONS_WITHOUT_IMPROVEMENT_THRESHOLD = 5;
-    private static final double MUTATION_BOOST_RATE = 0.20;
+    private static final int LAPS_TO_WIN = TrainingSession.LAPS_TO_WIN;
+    private static final double MAX_TIME_SCALE = 20.0;
+    private static final int MAX_ISLANDS = 8;
+    private static final int MAX_MIGRATION_INTERVAL = 20;
+    private static final long RATE_WINDOW_NANOS = 500_000_000L;
+    // Explosions shown at once; a mass-death frame reuses the oldest slots
+    private static final int CRASH_EFFECT_SLOTS = 64;
 
     // --- UI COMPONENTS ---
     private StackPane root;
     private Pane gameContainer;
+    // Car nodes (node rendering mode), kept below the explosions and labels
+    private Pane carLayer;
+    private EffectsManager effects;
+    // Static layer (cells and start line), drawn once per track; the overlay above it
+    // holds what changes every frame
+    private Canvas trackCanvas;
     private Canvas canvas;
     private GraphicsContext gc;
     private Label infoLabel;
     private Label winLabel;
+    // Locked while the running session has islands, which only evolve generationally
+    private ComboBox<TrainingSession.EvolutionMode> evolutionBox;
 
     // --- GAME STATE ---
-    private int[][] map;
+    private TrackGrid grid;
     private double startX, startY;
     private int startDirection;
     private double startLineX1, startLineY1, startLineX2, startLineY2;
 
-    private List<Checkpoint> checkpoints;
-    private List<AICar> population;
-    private int generation = 1;
-    private int aliveCars;
+    // Shared by every generation, so map preprocessing happens once per track
+    private RayCaster rayCaster;
+    private ProgressField progressField;
+    // Runs the session on its own thread; the FX thread only reads its snapshots and submits changes
+    private SimulationRunner runner;
+    private SimulationRunner viewedRunner;
+    private List<AICar> carViews = new ArrayList<>();
+    // Death counts of the last rendered snapshot, to spot the cars that crashed since then
+    private int[] deathsLastFrame = new int[0];
+    private SimulationRunner crashRunner;
+    private int crashSize;
     private boolean training = true;
 
-    private double bestFitnessHistory = 0;
-    private int generationsWithoutImprovement = 0;
+    // Achieved simulation rate
+    private long rateWindowStart = 0;
+    private double rateWindowSimTime = 0;
+    private double simulationRate = 0;
 
     private AnimationTimer timer;
     private EditorMapa editorReference;
 
     // Cell dimensions for grid calculations
     private double cellWidth, cellHeight;
+    // Sprite size shared by every car
+    private double carWidth, carHeight;
+    // Collision footprint: length along the heading, width across it
+    private double footprintLength, footprintWidth;
 
     /**
      * Sets up the training scene with the given parameters.
      */
     public void setup(Stage stage, int[][] map, Integer startGridX, Integer startGridY, int direction, EditorMapa editor) {
-        this.map = map;
         this.editorReference = editor;
 
         // Calculate cell dimensions based on fixed canvas size
         this.cellWidth = CANVAS_WIDTH / GRID_WIDTH;
         this.cellHeight = CANVAS_HEIGHT / GRID_HEIGHT;
+        this.grid = TrackGrid.fromMatrix(map, GRID_WIDTH, GRID_HEIGHT, cellWidth, cellHeight);
 
         this.startX = startGridX * cellWidth;
         this.startY = startGridY * cellHeight;
@@ -113,6 +161,7 @@ public class TreinamentoIA {
         gameContainer.setMaxSize(CANVAS_WIDTH, CANVAS_HEIGHT);
         gameContainer.setMinSize(CANVAS_WIDTH, CANVAS_HEIGHT);
 
+        trackCanvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
         canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
         gc = canvas.getGraphicsContext2D();
 
@@ -129,12 +178,22 @@ public class TreinamentoIA {
         winLabel.setLayoutY(300);
         winLabel.setVisible(false);
 
-        gameContainer.getChildren().addAll(canvas, infoLabel, winLabel);
+        carLayer = new Pane();
+        carLayer.setMouseTransparent(true);
+        gameContainer.getChildren().addAll(trackCanvas, canvas, carLayer);
+        effects = new EffectsManager(gameContainer, CRASH_EFFECT_SLOTS);
+        gameContainer.getChildren().addAll(infoLabel, winLabel);
 
         VBox controlPanel = createControlPanel();
-        StackPane.setAlignment(controlPanel, Pos.CENTER_RIGHT);
-
-        root.getChildren().addAll(gameContainer, controlPanel);
+        // The panel is taller than the window, so it scrolls
+        ScrollPane controlScroll = new ScrollPane(controlPanel);
+        controlScroll.setFitToWidth(true);
+        controlScroll.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        controlScroll.setMaxWidth(controlPanel.getMaxWidth() + 15);
+        controlScroll.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+        StackPane.setAlignment(controlScroll, Pos.CENTER_RIGHT);
+
+        root.getChildren().addAll(gameContainer, controlScroll);
     }
 
     /**
@@ -154,9 +213,10 @@ public class TreinamentoIA {
         // Speed slider
         Label speedLabel = new Label("Speed: 1.0x");
         speedLabel.setTextFill(Color.WHITE);
-        Slider speedSlider = new Slider(0.1, 5.0, 1.0);
+        Slider speedSlider = new Slider(0.1, MAX_TIME_SCALE, 1.0);
         speedSlider.valueProperty().addListener((obs, old, val) -> {
             timeScale = val.doubleValue();
+            runner.setTimeScale(timeScale);
             speedLabel.setText(String.format("Speed: %.1fx", timeScale));
         });
 
@@ -166,6 +226,8 @@ public class TreinamentoIA {
         Slider mutationSlider = new Slider(0, 0.5, 0.05);
         mutationSlider.valueProperty().addListener((obs, old, val) -> {
             currentMutationRate = val.doubleValue();
+            double rate = currentMutationRate;
+            runner.submit(session -> session.setMutationRate(rate));
             mutationLabel.setText(String.format("Mutation: %.0f%%", currentMutationRate * 100));
         });
 
@@ -175,20 +237,192 @@ public class TreinamentoIA {
         Slider populationSlider = new Slider(10, 300, 100);
         populationSlider.valueProperty().addListener((obs, old, val) -> {
             targetPopulation = val.intValue();
+            int size = targetPopulation;
+            runner.submit(session -> session.setTargetPopulation(size));
             populationLabel.setText("Next Population: " + targetPopulation);
         });
 
+        // Threads slider
+        Label threadsLabel = new Label("Threads: " + simulationThreads);
+        threadsLabel.setTextFill(Color.WHITE);
+        Slider threadsSlider = new Slider(1, Runtime.getRuntime().availableProcessors(), simulationThreads);
+        threadsSlider.valueProperty().addListener((obs, old, val) -> {
+            simulationThreads = val.intValue();
+            threadsLabel.setText("Threads: " + simulationThreads);
+            // Applied between ticks, so no step is running on the old pool
+            int threads = simulationThreads;
+            runner.submit(session -> session.setThreads(threads));
+        });
+
         // Sensors checkbox
         CheckBox sensorsCheckBox = new CheckBox("Show Sensors");
         sensorsCheckBox.setTextFill(Color.WHITE);
         sensorsCheckBox.setSelected(showSensors);
         sensorsCheckBox.selectedProperty().addListener((obs, old, val) -> showSensors = val);
 
+        // Turbo checkbox: the simulation thread runs fixed ticks back to back instead of in real time
+        CheckBox turboCheckBox = new CheckBox("Turbo (max ticks)");
+        turboCheckBox.setTextFill(Color.WHITE);
+        turboCheckBox.setSelected(turboMode);
+        turboCheckBox.selectedProperty().addListener((obs, old, val) -> {
+            turboMode = val;
+            runner.setTurbo(val);
+            // Explosions are only noise when generations fly by
+            effects.setEnabled(renderEnabled && !turboMode);
+        });
+
+        // Render checkbox: turning it off skips drawing entirely
+        CheckBox renderCheckBox = new CheckBox("Render Cars & Track");
+        renderCheckBox.setTextFill(Color.WHITE);
+        renderCheckBox.setSelected(renderEnabled);
+        renderCheckBox.selectedProperty().addListener((obs, old, val) -> setRenderEnabled(val));
+
+        // Batched rendering: one canvas pass over the population arrays; off = one node per car
+        CheckBox batchedRenderCheckBox = new CheckBox("Batched Car Rendering");
+        batchedRenderCheckBox.setTextFill(Color.WHITE);
+        batchedRenderCheckBox.setSelected(batchedRendering);
+        batchedRenderCheckBox.selectedProperty().addListener((obs, old, val) -> {
+            batchedRendering = val;
+            removeCarViews();
+        });
+
+        // Sensor mode: exact DDA, sphere tracing over a distance field, or a precomputed lookup table
+        Label sensorModeLabel = new Label("Sensor Mode");
+        sensorModeLabel.setTextFill(Color.WHITE);
+        ComboBox<RayCaster.Mode> sensorModeBox = new ComboBox<>();
+        sensorModeBox.getItems().addAll(RayCaster.Mode.values());
+        sensorModeBox.setValue(sensorMode);
+        sensorModeBox.setMaxWidth(Double.MAX_VALUE);
+        sensorModeBox.setOnAction(e -> {
+            RayCaster.Mode requested = sensorModeBox.getValue();
+            if (requested == sensorMode) return;
+            // Applied between ticks, so no step is casting rays; the outcome comes back to the FX thread
+            runner.submit(session -> {
+                rayCaster.setMode(requested);
+                RayCaster.Mode actual = rayCaster.getMode();
+                Platform.runLater(() -> {
+                    if (actual != requested) {
+                        System.out.println("Sensor table exceeds the memory budget, keeping " + actual);
+                    }
+                    sensorMode = actual;
+                    sensorModeBox.setValue(actual);
+                });
+            });
+        });
+
+        // Collision mode: centre cell only, or swept along the move so long steps cannot tunnel
+        Label collisionModeLabel = new Label("Collision Mode");
+        collisionModeLabel.setTextFill(Color.WHITE);
+        ComboBox<CollisionMode> collisionModeBox = new ComboBox<>();
+        collisionModeBox.getItems().addAll(CollisionMode.values());
+        collisionModeBox.setValue(collisionMode);
+        collisionModeBox.setMaxWidth(Double.MAX_VALUE);
+        collisionModeBox.setOnAction(e -> {
+            CollisionMode mode = collisionModeBox.getValue();
+            collisionMode = mode;
+            // Applied between ticks; later generations pick it up in createPopulation
+            runner.submit(session -> session.getPopulation().setCollisionMode(mode));
+        });
+
+        // Batch inference: one car per vector lane; needs --add-modules jdk.incubator.vector
+        CheckBox batchCheckBox = new CheckBox("Vector Inference (SIMD)");
+        batchCheckBox.setTextFill(Color.WHITE);
+        batchCheckBox.setSelected(batchInference);
+        batchCheckBox.setDisable(!LoteFuzzy.disponivel());
+        batchCheckBox.selectedProperty().addListener((obs, old, val) -> {
+            batchInference = val;
+            // Applied between ticks; later generations pick it up in createPopulation
+            runner.submit(session -> session.getPopulation().setBatchInference(val));
+        });
+
+        // Culling: end parked, spinning and wrong-way cars early instead of waiting for their timers
+        CheckBox cullingCheckBox = new CheckBox("Cull Stalled Cars");
+        cullingCheckBox.setTextFill(Color.WHITE);
+        cullingCheckBox.setSelected(cullingPolicy != CullingPolicy.NONE);
+        cullingCheckBox.selectedProperty().addListener((obs, old, val) -> {
+            CullingPolicy policy = val ? CullingPolicy.DEFAULT : CullingPolicy.NONE;
+            cullingPolicy = policy;
+            // Applied between ticks; later generations pick it up in createPopulation
+            runner.submit(session -> session.getPopulation().setCullingPolicy(policy));
+        });
+
+        // Evolution: whole generations, or steady state where each dead car is replaced right away
+        Label evolutionLabel = new Label("Evolution");
+        evolutionLabel.setTextFill(Color.WHITE);
+        evolutionBox = new ComboBox<>();
+        evolutionBox.getItems().addAll(TrainingSession.EvolutionMode.values());
+        evolutionBox.setValue(evolutionMode);
+        evolutionBox.setMaxWidth(Double.MAX_VALUE);
+        ComboBox<TrainingSession.Replacement> replacementBox = new ComboBox<>();
+        replacementBox.getItems().addAll(TrainingSession.Replacement.values());
+        replacementBox.setValue(replacement);
+        replacementBox.setMaxWidth(Double.MAX_VALUE);
+        replacementBox.setDisable(evolutionMode != TrainingSession.EvolutionMode.STEADY_STATE);
+        evolutionBox.setDisable(islands > 1);
+        evolutionBox.setOnAction(e -> {
+            TrainingSession.EvolutionMode mode = evolutionBox.getValue();
+            evolutionMode = mode;
+            replacementBox.setDisable(mode != TrainingSession.EvolutionMode.STEADY_STATE);
+            runner.submit(session -> session.setEvolutionMode(mode));
+        });
+        replacementBox.setOnAction(e -> {
+            TrainingSession.Replacement policy = replacementBox.getValue();
+            replacement = policy;
+            runner.submit(session -> session.setReplacement(policy));
+        });
+
+        // Islands: subpopulations that evolve apart and trade their best genomes; the count applies on restart
+        Label islandsLabel = new Label("Islands (on restart): " + islands);
+        islandsLabel.setTextFill(Color.WHITE);
+        Slider islandsSlider = new Slider(1, MAX_ISLANDS, islands);
+        islandsSlider.setMajorTickUnit(1);
+        islandsSlider.setMinorTickCount(0);
+        islandsSlider.setSnapToTicks(true);
+        islandsSlider.valueProperty().addListener((obs, old, val) -> {
+            islands = val.intValue();
+            islandsLabel.setText("Islands (on restart): " + islands);
+            // Steady state has no islands; the box itself follows the running session (see render)
+            if (islands > 1) evolutionBox.setValue(TrainingSession.EvolutionMode.GENERATIONAL);
+        });
+        Label migrationLabel = new Label("Migrate every " + migrationInterval + " gens");
+        migrationLabel.setTextFill(Color.WHITE);
+        Slider migrationSlider = new Slider(1, MAX_MIGRATION_INTERVAL, migrationInterval);
+        ComboBox<TrainingSession.Topology> topologyBox = new ComboBox<>();
+        topologyBox.getItems().addAll(TrainingSession.Topology.values());
+        topologyBox.setValue(topology);
+        topologyBox.setMaxWidth(Double.MAX_VALUE);
+        migrationSlider.valueProperty().addListener((obs, old, val) -> {
+            if (val.intValue() == migrationInterval) return;
+            migrationInterval = val.intValue();
+            migrationLabel.setText("Migrate every " + migrationInterval + " gens");
+            submitMigration();
+        });
+        topologyBox.setOnAction(e -> {
+            topology = topologyBox.getValue();
+            submitMigration();
+        });
+
+        // Seed field: the same seed and map reproduce the same evolution
+        Label seedLabel = new Label("Seed");
+        seedLabel.setTextFill(Color.WHITE);
+        TextField seedField = new TextField(Long.toString(seed));
+        Button restartButton = new Button("Restart with Seed");
+        restartButton.setMaxWidth(Double.MAX_VALUE);
+        restartButton.setOnAction(e -> {
+            try {
+                seed = Long.parseLong(seedField.getText().trim());
+            } catch (NumberFormatException ex) {
+                seedField.setText(Long.toString(seed));
+                return;
+            }
+            restartSession();
+        });
+
         // Kill all button
         Button killAllButton = new Button("💀 Kill All");
         killAllButton.setMaxWidth(Double.MAX_VALUE);
         killAllButton.setStyle("-fx-background-color: #800; -fx-text-fill: white;");
-        killAllButton.setOnAction(e -> population.forEach(AICar::destroy));
+        killAllButton.setOnAction(e -> runner.submit(TrainingSession::killAll));
 
         // Back button
         Button backButton = new Button("Back to Editor");
@@ -196,6 +430,7 @@ public class TreinamentoIA {
         backButton.setOnAction(e -> {
             training = false;
             if (timer != null) timer.stop();
+            runner.close();
             editorReference.voltarParaEditor();
         });
 
@@ -204,322 +439,273 @@ public class TreinamentoIA {
                 speedLabel, speedSlider,
                 mutationLabel, mutationSlider,
                 populationLabel, populationSlider,
-                new Separator(), sensorsCheckBox,
+                threadsLabel, threadsSlider,
+                new Separator(), sensorsCheckBox, turboCheckBox, renderCheckBox, batchedRenderCheckBox,
+                sensorModeLabel, sensorModeBox, collisionModeLabel, collisionModeBox, batchCheckBox, cullingCheckBox,
+                evolutionLabel, evolutionBox, replacementBox,
+                new Separator(), islandsLabel, islandsSlider, migrationLabel, migrationSlider, topologyBox,
+                new Separator(), seedLabel, seedField, restartButton,
                 new Separator(), killAllButton, backButton
         );
 
         return panel;
     }
 
+    private void submitMigration() {
+        int interval = migrationInterval;
+        TrainingSession.Topology links = topology;
+        runner.submit(session -> session.setMigration(interval, links));
+    }
+
     /**
-     * Initializes game logic components like checkpoints and population.
+     * Initializes game logic components like the progress field and the training session.
      */
     private void initializeGameLogic() {
         int angle = getAngleFromDirection(startDirection);
         calculateStartLine(startX, startY, angle);
-        generateCheckpoints(startX, startY, angle);
-        initializePopulation();
+        progressField = ProgressField.compute(grid, startX, startY, angle);
+        drawTrackLayer();
+
+        // All cars share the sprite size computed by a car view
+        Carro probe = new Carro(startX, startY, grid);
+        carWidth = probe.getVehicle().getWidth();
+        carHeight = probe.getVehicle().getHeight();
+        footprintLength = probe.getVehicle().getFootprintLength();
+        footprintWidth = probe.getVehicle().getFootprintWidth();
+        spriteRenderer = new CarSpriteRenderer(carWidth, carHeight);
+
+        rayCaster = new RayCaster(grid);
+        rayCaster.setMode(sensorMode);
+        startSession();
     }
 
     /**
-     * Initializes the population of AI cars.
+     * Creates a training session for the current seed and hyperparameters and starts it on its own thread.
      */
-    private void initializePopulation() {
-        population = new ArrayList<>();
-        for (int i = 0; i < targetPopulation; i++) {
-            AICar car = new AICar(startX, startY, map, GRID_WIDTH, GRID_HEIGHT, cellWidth, cellHeight);
-            car.setAngle(getAngleFromDirection(startDirection));
-            car.setOpacity(0.5);
-            gameContainer.getChildren().add(car);
-            population.add(car);
+    private void startSession() {
+        TrainingSession session = new TrainingSession(this::createPopulation, targetPopulation, islands,
+                simulationThreads, seed);
+        session.setMutationRate(currentMutationRate);
+        session.setMigration(migrationInterval, topology);
+        if (islands == 1) session.setEvolutionMode(evolutionMode);
+        session.setReplacement(replacement);
+        runner = new SimulationRunner(session);
+        runner.setTimeScale(timeScale);
+        runner.setTurbo(turboMode);
+        System.out.println("Training seed: " + seed);
+    }
+
+    /**
+     * Discards the current run and starts over from generation 1 with the current seed.
+     */
+    private void restartSession() {
+        runner.close();
+        startSession();
+        rateWindowSimTime = 0;
+        winLabel.setVisible(false);
+        if (!training) {
+            training = true;
+            timer.start();
         }
-        aliveCars = targetPopulation;
     }
 
     /**
-     * Starts the main game loop using AnimationTimer.
+     * Builds the simulation state of one generation on this track.
+     */
+    private Population createPopulation(CerebroGenetico[] brains) {
+        Population population = new Population(brains, startX, startY, getAngleFromDirection(startDirection),
+                grid, rayCaster, carWidth, carHeight);
+        population.setProgressField(progressField);
+        population.setBatchInference(batchInference);
+        population.setCollisionMode(collisionMode);
+        population.setFootprint(footprintLength, footprintWidth);
+        population.setCullingPolicy(cullingPolicy);
+        return population;
+    }
+
+    /**
+     * Starts the render loop: each frame shows the latest snapshot published by the simulation thread.
      */
     private void startGameLoop() {
         timer = new AnimationTimer() {
-            private long lastTime = 0;
-
             @Override
             public void handle(long now) {
                 if (!training) return;
-                if (lastTime == 0) {
-                    lastTime = now;
-                    return;
-                }
-
-                double rawDt = (now - lastTime) / 1_000_000_000.0;
-                lastTime = now;
-                double dt = Math.min(rawDt, 0.1) * timeScale;
-
-                updateGame(dt);
-                render();
-            }
-        };
-        timer.start();
-    }
+                if (rateWindowStart == 0) rateWindowStart = now;
 
-    /**
-     * Updates the game state for the current frame.
-     */
-    private void updateGame(double dt) {
-        redrawBackground();
-        drawVisuals();
-
-        boolean allDead = true;
-        aliveCars = 0;
-        double bestFitness = 0;
-        int maxLaps = 0;
-        AICar bestCar = null;
-
-        for (AICar car : population) {
-            if (!car.isDestroyed()) {
-                allDead = false;
-                aliveCars++;
-
-                car.control(dt);
-                car.updateFitness();
-
-                if (car.fitness > bestFitness) {
-                    bestFitness = car.fitness;
-                    bestCar = car;
-                }
-                if (car.laps > maxLaps) maxLaps = car.laps;
+                FrameSnapshot snapshot = runner.latest();
+                updateSimulationRate(now, snapshot);
 
-                if (car.laps >= LAPS_TO_WIN) {
+                if (snapshot.hasWinner()) {
                     training = false;
                     winLabel.setVisible(true);
-                    winLabel.setText("AI WINS! GEN " + generation);
+                    winLabel.setText("AI WINS! GEN " + snapshot.getGeneration());
                     timer.stop();
                 }
-            }
-        }
-
-        if (showSensors && bestCar != null) {
-            bestCar.getSensorSystem().drawSensors(gc, bestCar.getCenterX(), bestCar.getCenterY(), bestCar.getAngle());
-        }
-
-        infoLabel.setText(String.format("Gen: %d | Alive: %d | Fit: %.0f | Laps: %d/%d\nMutation: %.0f%% | Pop: %d",
-                generation, aliveCars, bestFitness, maxLaps, LAPS_TO_WIN, currentMutationRate * 100, population.size()));
 
-        if (training && allDead) {
-            evolveNextGeneration();
-        }
+                effects.update(now);
+                render(snapshot);
+            }
+        };
+        timer.start();
     }
 
     /**
-     * Evolves the population to the next generation.
+     * Updates the simulated-seconds per wall-second figure over a short window.
      */
-    private void evolveNextGeneration() {
-        population.sort((c1, c2) -> Double.compare(c2.fitness, c1.fitness));
-        AICar best = population.get(0);
-
-        System.out.println("Gen " + generation + " | Best Fit: " + (int) best.fitness + " | Mutation: " + (int) (currentMutationRate * 100) + "%");
-
-        if (best.fitness > bestFitnessHistory) {
-            bestFitnessHistory = best.fitness;
-            generationsWithoutImprovement = 0;
-        } else {
-            generationsWithoutImprovement++;
-        }
-
-        double effectiveMutation = currentMutationRate;
-        if (generationsWithoutImprovement > GENERATIONS_WITHOUT_IMPROVEMENT_THRESHOLD && currentMutationRate < MUTATION_BOOST_RATE) {
-            effectiveMutation = MUTATION_BOOST_RATE;
-            System.out.println(">> Auto-Boost Mutation!");
-        }
-
-        List<AICar> newPopulation = new ArrayList<>();
-
-        // Elitism: keep top 2
-        newPopulation.add(createChild(population.get(0).brain, cellWidth, cellHeight));
-        newPopulation.add(createChild(population.get(1).brain, cellWidth, cellHeight));
-
-        while (newPopulation.size() < targetPopulation) {
-            AICar parent1 = tournamentSelection();
-            AICar parent2 = tournamentSelection();
-            CerebroGenetico childBrain = crossover(parent1.brain, parent2.brain);
-            childBrain.mutar(effectiveMutation);
-            newPopulation.add(createChild(childBrain, cellWidth, cellHeight));
-        }
-
-        gameContainer.getChildren().removeIf(node -> node instanceof AICar);
-
-        population = newPopulation;
-        for (AICar car : population) {
-            car.setOpacity(0.5);
-            gameContainer.getChildren().add(car);
-        }
-        generation++;
+    private void updateSimulationRate(long now, FrameSnapshot snapshot) {
+        long elapsed = now - rateWindowStart;
+        if (elapsed < RATE_WINDOW_NANOS) return;
+        double simTime = snapshot.getSimulatedTime();
+        simulationRate = (simTime - rateWindowSimTime) / (elapsed / 1_000_000_000.0);
+        rateWindowSimTime = simTime;
+        rateWindowStart = now;
     }
 
-    /**
-     * Creates a new AI car with the given brain.
-     */
-    private AICar createChild(CerebroGenetico brain, double cw, double ch) {
-        AICar child = new AICar(startX, startY, map, GRID_WIDTH, GRID_HEIGHT, cw, ch);
-        child.setAngle(getAngleFromDirection(startDirection));
-        child.brain = new CerebroGenetico(brain.getCromossomo().clone());
-        return child;
+    private void setRenderEnabled(boolean enabled) {
+        renderEnabled = enabled;
+        if (!enabled) {
+            removeCarViews();
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        }
+        trackCanvas.setVisible(enabled);
+        effects.setEnabled(renderEnabled && !turboMode);
     }
 
     /**
-     * Performs tournament selection to choose a parent.
+     * Drops the per-car nodes; node rendering rebuilds them on the next frame.
      */
-    private AICar tournamentSelection() {
-        int idx1 = (int) (Math.random() * population.size());
-        int idx2 = (int) (Math.random() * population.size());
-        int idx3 = (int) (Math.random() * population.size());
-        AICar c1 = population.get(idx1);
-        AICar c2 = population.get(idx2);
-        AICar c3 = population.get(idx3);
-        AICar best = c1;
-        if (c2.fitness > best.fitness) best = c2;
-        if (c3.fitness > best.fitness) best = c3;
-        return best;
+    private void removeCarViews() {
+        carLayer.getChildren().removeAll(carViews);
+        carViews = new ArrayList<>();
+        viewedRunner = null;
     }
 
     /**
-     * Performs crossover between two brains.
+     * Points the car nodes at a new runner or population size. Existing nodes are reset and reused;
+     * nodes are only added or removed from the scene graph when the population size changes.
      */
-    private CerebroGenetico crossover(CerebroGenetico p1, CerebroGenetico p2) {
-        boolean[] genes1 = p1.getCromossomo();
-        boolean[] genes2 = p2.getCromossomo();
-        boolean[] newGenes = new boolean[genes1.length];
-        for (int i = 0; i < genes1.length; i++) {
-            newGenes[i] = Math.random() < 0.5 ? genes1[i] : genes2[i];
+    private void syncViews(FrameSnapshot snapshot) {
+        int size = snapshot.size();
+        if (carViews.size() > size) {
+            List<AICar> excess = carViews.subList(size, carViews.size());
+            carLayer.getChildren().removeAll(excess);
+            excess.clear();
         }
-        return new CerebroGenetico(newGenes);
-    }
-
-    /**
-     * Redraws the background map.
-     */
-    private void redrawBackground() {
-        gc.setFill(Color.BLACK);
-        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-        double cw = canvas.getWidth() / GRID_WIDTH;
-        double ch = canvas.getHeight() / GRID_HEIGHT;
-        gc.setFill(Color.WHITE);
-        for (int y = 0; y < GRID_HEIGHT; y++) {
-            for (int x = 0; x < GRID_WIDTH; x++) {
-                if (map[y][x] == 0) gc.fillRect(x * cw, y * ch, cw, ch);
+        for (AICar car : carViews) {
+            car.resetVisuals();
+        }
+        if (carViews.size() < size) {
+            List<AICar> added = new ArrayList<>(size - carViews.size());
+            for (int i = carViews.size(); i < size; i++) {
+                AICar car = new AICar(i, startX, startY, grid);
+                car.setOpacity(0.5);
+                added.add(car);
             }
+            carViews.addAll(added);
+            carLayer.getChildren().addAll(added);
         }
+        viewedRunner = runner;
     }
 
     /**
-     * Draws additional visuals like the start line.
-     */
-    private void drawVisuals() {
-        gc.setStroke(Color.LIME);
-        gc.setLineWidth(3);
-        gc.strokeLine(startLineX1, startLineY1, startLineX2, startLineY2);
-        gc.setLineWidth(1);
-        gc.setStroke(Color.WHITE);
-        gc.strokeLine(startLineX1, startLineY1, startLineX2, startLineY2);
-    }
-
-    /**
-     * Renders the current frame (placeholder for additional rendering).
+     * Renders the current frame: cars (batched onto the overlay or as synced nodes), sensors and stats.
      */
-    private void render() {
-        // Additional rendering logic can be added here if needed
-    }
-
-    // --- HELPER CLASSES ---
+    private void render(FrameSnapshot snapshot) {
+        FrameStats stats = snapshot.getStats();
+        // The islands slider only applies on restart, so the running session decides
+        evolutionBox.setDisable(snapshot.getIslandCount() > 1);
+
+        if (renderEnabled) {
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            int bestCar = stats.bestCar();
+
+            if (batchedRendering) {
+                // Steady state has no elite slots: the elite lives in the pool
+                int elites = snapshot.getEvolutionMode() == TrainingSession.EvolutionMode.GENERATIONAL
+                        ? TrainingSession.ELITE_COUNT : 0;
+                spriteRenderer.draw(gc, snapshot, elites, bestCar);
+            } else {
+                // Nodes are reused across generations and islands; each one resets itself when its car comes back
+                if (runner != viewedRunner || snapshot.size() != carViews.size()) {
+                    syncViews(snapshot);
+                }
+                for (AICar car : carViews) {
+                    car.sync(snapshot);
+                }
+            }
 
-    private static class Checkpoint {
-        double x, y, radius;
+            spawnCrashEffects(snapshot);
 
-        Checkpoint(double x, double y, double radius) {
-            this.x = x;
-            this.y = y;
-            this.radius = radius;
+            if (showSensors && bestCar >= 0) {
+                SensorSystem.drawReadings(gc, snapshot.getBestSensorReadings(), 0,
+                        snapshot.getCenterX(bestCar), snapshot.getCenterY(bestCar), snapshot.getAngle(bestCar));
+            }
         }
-    }
 
-    private static class TrackPoint {
-        double x, y, width;
+        infoLabel.setText(String.format("Gen: %d | Alive: %d | Fit: %.0f | Laps: %d/%d\nMutation: %.0f%% | Pop: %d | Sim: %.1fx\nCulled: %d stalled | %d wrong way",
+                snapshot.getGeneration(), stats.alive(), stats.bestFitness(), stats.maxLaps(), LAPS_TO_WIN,
+                snapshot.getMutationRate() * 100, snapshot.size(), simulationRate,
+                snapshot.getCulledCount(CullingPolicy.Rule.STALLED), snapshot.getCulledCount(CullingPolicy.Rule.WRONG_WAY))
+                + islandStats(snapshot));
+    }
 
-        TrackPoint(double x, double y, double width) {
-            this.x = x;
-            this.y = y;
-            this.width = width;
+    // One line per island when there is more than one
+    private static String islandStats(FrameSnapshot snapshot) {
+        if (snapshot.getIslandCount() < 2) return "";
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < snapshot.getIslandCount(); k++) {
+            text.append(String.format("%nIsland %d: Gen %d | Alive %d | Fit %.0f", k + 1,
+                    snapshot.getIslandGeneration(k), snapshot.getIslandAlive(k), snapshot.getIslandBestFitness(k)));
         }
+        return text.toString();
     }
 
-    // --- TRACK GENERATION METHODS ---
-
-    private void generateCheckpoints(double startX, double startY, double startAngle) {
-        checkpoints = new ArrayList<>();
-        TrackPoint centerStart = findTrackCenter(startX, startY, startAngle);
-        double currentX = centerStart.x;
-        double currentY = centerStart.y;
-        double currentAngle = startAngle;
-        int maxCheckpoints = 60;
-        List<String> visitedRegions = new ArrayList<>();
-
-        for (int i = 0; i < maxCheckpoints; i++) {
-            double newX = currentX + Math.cos(Math.toRadians(currentAngle)) * MIN_DISTANCE_FROM_START;
-            double newY = currentY + Math.sin(Math.toRadians(currentAngle)) * MIN_DISTANCE_FROM_START;
-            int gridX = (int) (newX / cellWidth);
-            int gridY = (int) (newY / cellHeight);
-
-            if (gridX < 0 || gridX >= GRID_WIDTH || gridY < 0 || gridY >= GRID_HEIGHT || map[gridY][gridX] == 1) {
-                boolean foundPath = false;
-                for (int angleOffset = -90; angleOffset <= 90; angleOffset += 10) {
-                    double testAngle = currentAngle + angleOffset;
-                    double testX = currentX + Math.cos(Math.toRadians(testAngle)) * MIN_DISTANCE_FROM_START * 0.6;
-                    double testY = currentY + Math.sin(Math.toRadians(testAngle)) * MIN_DISTANCE_FROM_START * 0.6;
-                    int tgX = (int) (testX / cellWidth);
-                    int tgY = (int) (testY / cellHeight);
-                    if (tgX >= 0 && tgX < GRID_WIDTH && tgY >= 0 && tgY < GRID_HEIGHT && map[tgY][tgX] == 0) {
-                        newX = testX;
-                        newY = testY;
-                        currentAngle = testAngle;
-                        foundPath = true;
-                        break;
-                    }
-                }
-                if (!foundPath) break;
-            }
-            if (i > 4) {
-                double distToStart = Math.sqrt(Math.pow(newX - startX, 2) + Math.pow(newY - startY, 2));
-                if (distToStart < MIN_DISTANCE_FROM_START * 0.8) break;
-            }
-            TrackPoint trackPoint = findTrackCenter(newX, newY, currentAngle);
-            int regionX = (int) (trackPoint.x / (cellWidth * 3));
-            int regionY = (int) (trackPoint.y / (cellHeight * 3));
-            String regionKey = regionX + "," + regionY;
-            if (!visitedRegions.contains(regionKey)) {
-                checkpoints.add(new Checkpoint(trackPoint.x, trackPoint.y, trackPoint.width / 2.0));
-                visitedRegions.add(regionKey);
-                currentX = trackPoint.x;
-                currentY = trackPoint.y;
-            } else {
-                currentX = newX;
-                currentY = newY;
+    /**
+     * Starts an explosion where each car last died, for every car whose death count grew since the
+     * previously rendered snapshot of the same population. Counting deaths rather than comparing alive
+     * flags also catches cars that were respawned in the tick they died.
+     */
+    private void spawnCrashEffects(FrameSnapshot snapshot) {
+        int size = snapshot.size();
+        // The population is only rebuilt, and its counts restarted, when the runner or the size changes
+        boolean samePopulation = runner == crashRunner && size == crashSize;
+        if (deathsLastFrame.length < size) deathsLastFrame = new int[size];
+        double carSize = Math.max(carWidth, carHeight);
+        for (int i = 0; i < size; i++) {
+            int deaths = snapshot.getDeathCount(i);
+            if (samePopulation && deaths != deathsLastFrame[i]) {
+                effects.spawn(snapshot.getDeathCenterX(i), snapshot.getDeathCenterY(i), carSize);
             }
+            deathsLastFrame[i] = deaths;
         }
+        crashRunner = runner;
+        crashSize = size;
     }
 
-    private TrackPoint findTrackCenter(double x, double y, double angle) {
-        double perpAngle = angle + 90;
-        double perpDirX = Math.cos(Math.toRadians(perpAngle));
-        double perpDirY = Math.sin(Math.toRadians(perpAngle));
-        double maxSearch = 200;
-        double distLeft = findWallDistance(x, y, perpDirX, perpDirY, maxSearch);
-        double distRight = findWallDistance(x, y, -perpDirX, -perpDirY, maxSearch);
-        double centerX = x + perpDirX * (distLeft - distRight) / 2.0;
-        double centerY = y + perpDirY * (distLeft - distRight) / 2.0;
-        double width = distLeft + distRight;
-        return new TrackPoint(centerX, centerY, width);
+    /**
+     * Rasterizes the static track layer: cells and start line. The map and the
+     * canvas size are fixed for the session, so this runs once instead of every frame.
+     */
+    private void drawTrackLayer() {
+        GraphicsContext trackGc = trackCanvas.getGraphicsContext2D();
+        trackGc.setFill(Color.BLACK);
+        trackGc.fillRect(0, 0, trackCanvas.getWidth(), trackCanvas.getHeight());
+        double cw = trackCanvas.getWidth() / GRID_WIDTH;
+        double ch = trackCanvas.getHeight() / GRID_HEIGHT;
+        trackGc.setFill(Color.WHITE);
+        TrackPainter.fillOpenCells(trackGc, grid, cw, ch);
+
+        trackGc.setStroke(Color.LIME);
+        trackGc.setLineWidth(3);
+        trackGc.strokeLine(startLineX1, startLineY1, startLineX2, startLineY2);
+        trackGc.setLineWidth(1);
+        trackGc.setStroke(Color.WHITE);
+        trackGc.strokeLine(startLineX1, startLineY1, startLineX2, startLineY2);
     }
 
+    // --- TRACK GEOMETRY ---
+
     private void calculateStartLine(double startX, double startY, int angle) {
         double perpendicularAngle = angle + 90;
         double perpDirX = Math.cos(Math.toRadians(perpendicularAngle));
@@ -542,8 +728,7 @@ public class TreinamentoIA {
             double testY = startY + dirY * dist;
             int gridX = (int) (testX / cellWidth);
             int gridY = (int) (testY / cellHeight);
-            if (gridX < 0 || gridX >= GRID_WIDTH || gridY < 0 || gridY >= GRID_HEIGHT) return dist - step;
-            if (map[gridY][gridX] == 1) return dist - step;
+            if (grid.isWall(gridX, gridY)) return dist - step;
         }
         return maxDist;
     }
@@ -565,89 +750,19 @@ public class TreinamentoIA {
     // --- AI CAR CLASS ---
 
     /**
-     * AICar represents an AI-controlled car with genetic brain.
+     * Node view of car {@code id}, posed from the snapshots of the simulation thread.
+     * The same node is reused for that id in every generation.
      */
-    public class AICar extends Carro {
-        public CerebroGenetico brain;
-        public double fitness = 0;
-        public int laps = 0;
-        public int nextCheckpointIndex = 0;
-        public int totalCheckpointsPassed = 0;
-        private double timeRemaining = INITIAL_TIME_REMAINING;
-        private double lastX, lastY;
-        private double distanceTraveled = 0;
-        private double totalLifetime = 0;
-
-        public AICar(double x, double y, int[][] m, int l, int a, double cw, double ch) {
-            super(x, y, m, l, a, cw, ch);
-            this.brain = new CerebroGenetico();
-            this.lastX = x;
-            this.lastY = y;
-        }
-
-        /**
-         * Controls the car based on AI decisions.
-         */
-        public void control(double dt) {
-            timeRemaining -= dt;
-            totalLifetime += dt;
-            if (timeRemaining <= 0) {
-                destroy();
-                return;
-            }
-
-            double[] inputs = getSensorSystem().getFuzzySnapshot();
-            double desiredAngle = brain.processarDirecao(inputs);
-            double desiredAcceleration = brain.processarAceleracao(inputs);
-
-            if (desiredAcceleration == 0.0) desiredAcceleration = 0.5;
-            if (desiredAcceleration < 0) {
-                this.setThrottle(0);
-                this.setBraking(true);
-            } else {
-                this.setBraking(false);
-                this.setThrottle(desiredAcceleration);
-            }
+    public static class AICar extends Carro {
+        private final int id;
 
-            double steeringLimit = 180.0 * dt;
-            double actualSteering = Math.max(-steeringLimit, Math.min(steeringLimit, desiredAngle));
-            this.applySteering(actualSteering);
-            super.update(dt);
+        public AICar(int id, double x, double y, TrackGrid grid) {
+            super(x, y, grid);
+            this.id = id;
         }
 
-        /**
-         * Updates the fitness score based on progress.
-         */
-        public void updateFitness() {
-            if (checkpoints == null || checkpoints.isEmpty()) return;
-            Checkpoint nextCP = checkpoints.get(nextCheckpointIndex);
-            double distToNext = Math.sqrt(Math.pow(getX() - nextCP.x, 2) + Math.pow(getY() - nextCP.y, 2));
-            if (distToNext < nextCP.radius) {
-                nextCheckpointIndex++;
-                totalCheckpointsPassed++;
-                fitness += FITNESS_PER_CHECKPOINT;
-                timeRemaining += TIME_BONUS_PER_CHECKPOINT;
-                if (timeRemaining > MAX_TIME_REMAINING) timeRemaining = MAX_TIME_REMAINING;
-                if (nextCheckpointIndex >= checkpoints.size()) {
-                    nextCheckpointIndex = 0;
-                    laps++;
-                    fitness += FITNESS_PER_LAP;
-                }
-            }
-            double dx = getX() - lastX;
-            double dy = getY() - lastY;
-            double frameDistance = Math.sqrt(dx * dx + dy * dy);
-            double rad = Math.toRadians(getAngle());
-            if (dx * Math.cos(rad) + dy * Math.sin(rad) > 0) {
-                distanceTraveled += frameDistance;
-            } else {
-                distanceTraveled -= frameDistance;
-            }
-            double slownessPenalty = totalLifetime * SLOWNESS_PENALTY_FACTOR;
-            this.fitness = (totalCheckpointsPassed * 2000) + Math.max(0, distanceTraveled) - slownessPenalty;
-            this.lastX = getX();
-            this.lastY = getY();
+        public void sync(FrameSnapshot snapshot) {
+            syncPose(snapshot.getX(id), snapshot.getY(id), snapshot.getAngle(id), !snapshot.isAlive(id));
         }
     }
 }
-
@@ -0,0 +1,93 @@
+package org.MaViniciusDev.ia;
+
+import org.MaViniciusDev.simulation.Fuzzifier;
+import org.MaViniciusDev.simulation.SensorArray;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * A inferência em lote tem de dar o mesmo resultado que a inferência carro a carro.
+ */
+public class LoteFuzzyTest {
+    private static final double EPSILON = 1e-12;
+    private static final int RODADAS = 200;
+
+    @Test
+    public void loteIgualAoCarroACarro() {
+        assumeTrue("jdk.incubator.vector não carregado", LoteFuzzy.disponivel());
+
+        SplittableRandom random = new SplittableRandom(7);
+        CerebroGenetico[] cerebros = cerebrosAleatorios(random);
+        compararComCarroACarro(new LoteFuzzy(cerebros), cerebros, random);
+    }
+
+    @Test
+    public void blocoRecompiladoIgualAoCarroACarro() {
+        assumeTrue("jdk.incubator.vector não carregado", LoteFuzzy.disponivel());
+
+        SplittableRandom random = new SplittableRandom(11);
+        CerebroGenetico[] cerebros = cerebrosAleatorios(random);
+        LoteFuzzy lote = new LoteFuzzy(cerebros);
+        // Troca um cérebro no meio do segundo bloco, como um respawn steady-state, e refaz só aquele bloco
+        int id = lote.getLanes() + 1;
+        cerebros[id] = new CerebroGenetico(random);
+        lote.recompilarBloco(id / lote.getLanes(), cerebros);
+        compararComCarroACarro(lote, cerebros, random);
+    }
+
+    private static CerebroGenetico[] cerebrosAleatorios(SplittableRandom random) {
+        // Um bloco incompleto no final, para testar as lanes sem carro
+        int numCarros = 3 * LoteFuzzy.lanes() + 1;
+        CerebroGenetico[] cerebros = new CerebroGenetico[numCarros];
+        for (int i = 0; i < numCarros; i++) cerebros[i] = new CerebroGenetico(random);
+        return cerebros;
+    }
+
+    private static void compararComCarroACarro(LoteFuzzy lote, CerebroGenetico[] cerebros, SplittableRandom random) {
+        int numCarros = cerebros.length;
+        int lanes = lote.getLanes();
+        int passo = lote.getNumBlocos() * lanes;
+        int numEntradas = SensorArray.NUM_FUZZY_INPUTS;
+        double[] leituras = new double[SensorArray.NUM_SENSORS];
+        double[] entradasCarro = new double[numEntradas];
+        double[] saidasCarro = new double[CerebroGenetico.NUM_NIVEIS_SAIDA];
+        double[] colunas = new double[numEntradas * passo];
+        int[] mascaras = new int[passo];
+        double[] trabalho = new double[CerebroGenetico.NUM_NIVEIS_SAIDA * passo];
+        double[] direcao = new double[passo];
+        double[] aceleracao = new double[passo];
+        double[] direcaoEsperada = new double[numCarros];
+        double[] aceleracaoEsperada = new double[numCarros];
+
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            for (int id = 0; id < numCarros; id++) {
+                // Leituras em 0-100, com as pontas (0 e 100) aparecendo de vez em quando
+                for (int s = 0; s < leituras.length; s++) {
+                    int sorteio = random.nextInt(20);
+                    leituras[s] = sorteio == 0 ? 0 : sorteio == 1 ? 100 : random.nextDouble(100);
+                }
+                int mascara = Fuzzifier.DEFAULT.fuzzifySensors(leituras, 0, entradasCarro, 0);
+                mascaras[id] = mascara;
+                for (int j = 0; j < numEntradas; j++) colunas[j * passo + id] = entradasCarro[j];
+                direcaoEsperada[id] = cerebros[id].processarDirecao(entradasCarro, 0, mascara, saidasCarro, 0);
+                aceleracaoEsperada[id] = cerebros[id].processarAceleracao(entradasCarro, 0, mascara, saidasCarro, 0);
+            }
+
+            for (int bloco = 0; bloco < lote.getNumBlocos(); bloco++) {
+                lote.processarBloco(bloco, colunas, passo, mascaras, trabalho,
+                        bloco * lanes * CerebroGenetico.NUM_NIVEIS_SAIDA, direcao, aceleracao);
+            }
+
+            for (int id = 0; id < numCarros; id++) {
+                assertEquals("direção do carro " + id + " na rodada " + rodada,
+                        direcaoEsperada[id], direcao[id], EPSILON);
+                assertEquals("aceleração do carro " + id + " na rodada " + rodada,
+                        aceleracaoEsperada[id], aceleracao[id], EPSILON);
+            }
+        }
+    }
+}
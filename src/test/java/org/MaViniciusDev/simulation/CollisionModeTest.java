@@ -0,0 +1,41 @@
+package org.MaViniciusDev.simulation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The footprint sweep stops a car where its rectangle first touches a wall.
+ */
+public class CollisionModeTest {
+    private static final double CELL = 10;
+    // Cells from x = WALL_X on are wall
+    private static final double WALL_X = 150;
+
+    @Test
+    public void headOnCarStopsAtItsNose() {
+        // Portrait sprite turned by 90°, as car.png: the long side runs along the heading
+        Vehicle car = new Vehicle(50 - 6.5, 25 - 10, TrackGrid.fromMatrix(wallAhead(), 20, 5, CELL, CELL));
+        car.setSize(13, 20);
+        car.setFootprint(20, 13);
+        car.setCollisionMode(CollisionMode.SWEPT_FOOTPRINT);
+        car.setAngle(0);
+        car.setThrottle(1);
+
+        for (int s = 0; s < 10_000 && !car.isDestroyed(); s++) car.update(TrainingSession.FIXED_DT);
+
+        assertTrue("Car never reached the wall", car.isDestroyed());
+        double nose = car.getCenterX() + car.getFootprintLength() / 2;
+        assertEquals(WALL_X, nose, 1e-6);
+    }
+
+    // Open corridor 5 cells high, closed by a wall from cell 15 on
+    private static int[][] wallAhead() {
+        int[][] map = new int[5][20];
+        for (int[] row : map) {
+            for (int x = (int) (WALL_X / CELL); x < row.length; x++) row[x] = 1;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,54 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The step loop works on preallocated arrays only: once warmed up, stepping a population must not
+ * allocate (beyond the small per-step {@link FrameStats} record).
+ */
+public class PopulationAllocationTest {
+    private static final int CARS = 100;
+    private static final int WARMUP_STEPS = 20_000;
+    private static final int MEASURED_STEPS = 2_000;
+    // Room for the FrameStats returned by each step and for JIT/GC noise
+    private static final long MAX_BYTES_PER_STEP = 256;
+
+    @Test
+    public void steppingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        TrackGrid grid = TestTracks.ring();
+        CerebroGenetico[] brains = new CerebroGenetico[CARS];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < CARS; i++) brains[i] = new CerebroGenetico(random);
+        Population population = TestTracks.population(brains, grid,
+                ProgressField.compute(grid, TestTracks.START_X, TestTracks.START_Y, TestTracks.START_ANGLE));
+
+        run(population, brains, WARMUP_STEPS);
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        run(population, brains, MEASURED_STEPS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        long perStep = allocated / MEASURED_STEPS;
+        assertTrue("Step loop allocated " + perStep + " bytes per step", perStep <= MAX_BYTES_PER_STEP);
+    }
+
+    // Steps the population, restarting the same brains whenever every car is dead
+    private static void run(Population population, CerebroGenetico[] brains, int steps) {
+        for (int s = 0; s < steps; s++) {
+            if (population.step(TrainingSession.FIXED_DT).alive() == 0) population.reset(brains);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.simulation.RandomStreams.Operator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class RandomStreamsTest {
+
+    @Test
+    public void birthStreamsDoNotReplayGenerationStreams() {
+        RandomStreams streams = new RandomStreams(42);
+        for (int n = 0; n < 100; n++) {
+            for (Operator operator : Operator.values()) {
+                for (int slot = 0; slot < 10; slot++) {
+                    assertNotEquals("Birth " + n + " replays generation " + n,
+                            streams.stream(n, operator, slot).nextLong(),
+                            streams.birthStream(n, operator, slot).nextLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void streamsDependOnlyOnTheirKey() {
+        RandomStreams streams = new RandomStreams(42);
+        assertEquals(streams.birthStream(7, Operator.MUTATION, 3).nextLong(),
+                new RandomStreams(42).birthStream(7, Operator.MUTATION, 3).nextLong());
+    }
+}
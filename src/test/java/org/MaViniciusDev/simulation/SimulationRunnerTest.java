@@ -0,0 +1,25 @@
+package org.MaViniciusDev.simulation;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class SimulationRunnerTest {
+
+    @Test
+    public void failedCommandDoesNotStopTheSimulation() throws InterruptedException {
+        TrackGrid grid = TestTracks.ring();
+        ProgressField field = ProgressField.compute(grid, TestTracks.START_X, TestTracks.START_Y, TestTracks.START_ANGLE);
+        TrainingSession session = new TrainingSession(brains -> TestTracks.population(brains, grid, field), 5, 2, 1, 1);
+        try (SimulationRunner runner = new SimulationRunner(session)) {
+            // Islands reject steady state, as when the UI submits it to a multi-island run
+            runner.submit(s -> s.setEvolutionMode(TrainingSession.EvolutionMode.STEADY_STATE));
+            CountDownLatch ran = new CountDownLatch(1);
+            runner.submit(s -> ran.countDown());
+            assertTrue("Simulation thread died on a failed command", ran.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SteadyStatePoolTest {
+
+    @Test
+    public void grownPoolKeepsBreedingFromItsEntries() {
+        SplittableRandom random = new SplittableRandom(3);
+        SteadyStatePool pool = new SteadyStatePool(4);
+        CerebroGenetico[] offered = new CerebroGenetico[4];
+        for (int i = 0; i < offered.length; i++) {
+            offered[i] = new CerebroGenetico(random);
+            assertFalse("Ready before it was full", pool.isReady());
+            pool.offer(offered[i], i, TrainingSession.Replacement.WORST, TrainingSession.ELITE_COUNT);
+        }
+        assertTrue(pool.isReady());
+
+        pool.resize(10);
+        assertFalse(pool.isFull());
+        assertTrue("Growing the pool sent it back to random genomes", pool.isReady());
+        for (int n = 0; n < 100; n++) {
+            assertTrue("Selected a genome that was never offered", isOneOf(pool.select(random), offered));
+        }
+    }
+
+    private static boolean isOneOf(CerebroGenetico brain, CerebroGenetico[] candidates) {
+        for (CerebroGenetico candidate : candidates) {
+            if (Arrays.equals(brain.getCromossomo(), candidate.getCromossomo())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+
+/**
+ * Small tracks shared by the simulation tests.
+ */
+final class TestTracks {
+    static final int WIDTH = 128;
+    static final int HEIGHT = 72;
+    static final double CELL = 10;
+    // On the left straight, heading up
+    static final double START_X = 60, START_Y = 360, START_ANGLE = 270;
+
+    private TestTracks() {
+    }
+
+    /**
+     * Rectangular ring: two-cell outer wall around a 100 x 44 cell block.
+     */
+    static TrackGrid ring() {
+        int[][] map = new int[HEIGHT][WIDTH];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                boolean outer = x < 2 || y < 2 || x >= WIDTH - 2 || y >= HEIGHT - 2;
+                boolean inner = x >= 14 && x < 114 && y >= 14 && y < 58;
+                map[y][x] = outer || inner ? 1 : 0;
+            }
+        }
+        return TrackGrid.fromMatrix(map, WIDTH, HEIGHT, CELL, CELL);
+    }
+
+    /**
+     * Population of {@code brains} on {@code grid}, starting at the ring's start with stall culling on.
+     */
+    static Population population(CerebroGenetico[] brains, TrackGrid grid, ProgressField field) {
+        Population population = new Population(brains, START_X, START_Y, START_ANGLE, grid, new RayCaster(grid), 20, 10);
+        population.setProgressField(field);
+        population.setCullingPolicy(CullingPolicy.DEFAULT);
+        return population;
+    }
+}
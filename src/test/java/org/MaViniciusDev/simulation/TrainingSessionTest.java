@@ -0,0 +1,84 @@
+package org.MaViniciusDev.simulation;
+
+import org.MaViniciusDev.ia.CerebroGenetico;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrainingSessionTest {
+    private static final int MAX_TICKS = 200_000;
+
+    /**
+     * Growing a steady-state population restarts every car with a child of the evaluated pool. With
+     * mutation off, each child's genes are a crossover of two genomes that already ran; a random genome
+     * is not.
+     */
+    @Test
+    public void grownSteadyStatePopulationIsBredFromThePool() {
+        TrackGrid grid = TestTracks.ring();
+        ProgressField field = ProgressField.compute(grid, TestTracks.START_X, TestTracks.START_Y, TestTracks.START_ANGLE);
+        try (TrainingSession session = new TrainingSession(brains -> TestTracks.population(brains, grid, field), 10, 1, 9)) {
+            session.setMutationRate(0);
+            session.setEvolutionMode(TrainingSession.EvolutionMode.STEADY_STATE);
+
+            // Every genome that has been on the track; the pool only ever holds some of them
+            Set<BitSet> evaluated = new HashSet<>();
+            int ticks = 0;
+            while (session.getGeneration() < 3 && ticks++ < MAX_TICKS) {
+                record(session.getPopulation(), evaluated);
+                session.tick();
+            }
+            assertTrue("Steady state never reached generation 3", session.getGeneration() >= 3);
+
+            session.setTargetPopulation(20);
+            while (session.getPopulation().size() != 20 && ticks++ < MAX_TICKS) {
+                record(session.getPopulation(), evaluated);
+                session.tick();
+            }
+            assertEquals(20, session.getPopulation().size());
+
+            List<BitSet> parents = new ArrayList<>(evaluated);
+            for (int i = 0; i < 20; i++) {
+                assertTrue("Car " + i + " is not a child of the pool",
+                        isCrossover(genes(session.getPopulation().getBrain(i)), parents));
+            }
+        }
+    }
+
+    private static void record(Population population, Set<BitSet> evaluated) {
+        for (int i = 0; i < population.size(); i++) evaluated.add(genes(population.getBrain(i)));
+    }
+
+    private static BitSet genes(CerebroGenetico brain) {
+        boolean[] chromosome = brain.getCromossomo();
+        BitSet genes = new BitSet(chromosome.length);
+        for (int i = 0; i < chromosome.length; i++) genes.set(i, chromosome[i]);
+        return genes;
+    }
+
+    // Some pair of parents agrees with the child wherever both parents agree with each other
+    private static boolean isCrossover(BitSet child, List<BitSet> parents) {
+        for (int a = 0; a < parents.size(); a++) {
+            for (int b = a; b < parents.size(); b++) {
+                BitSet both = (BitSet) parents.get(a).clone();
+                both.and(parents.get(b));
+                BitSet either = (BitSet) parents.get(a).clone();
+                either.or(parents.get(b));
+
+                BitSet missing = (BitSet) both.clone();
+                missing.andNot(child);
+                BitSet extra = (BitSet) child.clone();
+                extra.andNot(either);
+                if (missing.isEmpty() && extra.isEmpty()) return true;
+            }
+        }
+        return false;
+    }
+}